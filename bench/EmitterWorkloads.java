@@ -0,0 +1,137 @@
+import benchmark.EmitterWorkload;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+
+/**
+ * @description: EmitterWorkload 的实现, 分别测流式输出, 构建 KV, KV 格式化和完整的 toPrettyJson
+ * @date: 2026/10/18
+ */
+public class EmitterWorkloads implements EmitterWorkload {
+
+    private final SampleJsonEmitter sample = new SampleJsonEmitter();
+
+    private final TypedJsonEmitter typed = new TypedJsonEmitter();
+
+    private final YapiSchemaEmitter yapi = new YapiSchemaEmitter();
+
+    private final YapiSchemaEmitter yapiShared = new YapiSchemaEmitter(new GenerationProfile.Builder().sharedDefinitions(true).build());
+
+    private TypeModel model;
+
+    private KV kv;
+
+    @Override
+    public void prepare(String shape, int size) {
+        model = ModelShape.valueOf(shape).build(size);
+        kv = sample.emit(model, new ArrayList<>());
+    }
+
+    @Override
+    public long sampleStream() {
+        return stream(sample);
+    }
+
+    @Override
+    public long typedStream() {
+        return stream(typed);
+    }
+
+    @Override
+    public long yapiStream() {
+        return stream(yapi);
+    }
+
+    @Override
+    public long yapiSharedStream() {
+        return stream(yapiShared);
+    }
+
+    @Override
+    public long sampleEncoded(String encoding) {
+        CountingOutputStream stream = new CountingOutputStream();
+        try {
+            JsonWriter out = OutputEncoding.valueOf(encoding).newWriter(stream, JsonOptions.COMPACT);
+            sample.write(model, out, new ArrayList<>());
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return stream.count;
+    }
+
+    @Override
+    public Object buildKv() {
+        return sample.emit(model, new ArrayList<>());
+    }
+
+    @Override
+    public String kvToPrettyJson() {
+        return kv.toPrettyJson();
+    }
+
+    @Override
+    public String toPrettyJson() {
+        return sample.toPrettyJson(model, new ArrayList<>());
+    }
+
+    private long stream(JsonEmitter emitter) {
+        CountingWriter writer = new CountingWriter();
+        try {
+            JsonWriter out = JsonOptions.PRETTY.newWriter(writer);
+            emitter.write(model, out, new ArrayList<>());
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.count;
+    }
+
+    /**
+     * 只计数不保存, 测的是遍历和格式化本身
+     */
+    private static final class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+    }
+}
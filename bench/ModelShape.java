@@ -0,0 +1,117 @@
+import java.util.*;
+
+/**
+ * @description: 基准测试用的合成类型模型, 不依赖 PSI
+ * @date: 2026/10/18
+ */
+public enum ModelShape {
+
+    /**
+     * 一个类, size * 4 个标量字段
+     */
+    WIDE {
+        @Override
+        TypeModel build(int size) {
+            Map<String, ClassModel> classes = new LinkedHashMap<>();
+            List<FieldModel> fields = new ArrayList<>();
+            for (int i = 0; i < size * 4; i++) {
+                fields.add(scalar("field" + i, i));
+            }
+            put(classes, new ClassModel("bench.Wide", "Wide", fields));
+            return new TypeModel("bench.Wide", classes, false);
+        }
+    },
+
+    /**
+     * size 层的链, 每层几个标量加一个下一层的对象
+     */
+    DEEP {
+        @Override
+        TypeModel build(int size) {
+            Map<String, ClassModel> classes = new LinkedHashMap<>();
+            for (int level = 0; level < size; level++) {
+                List<FieldModel> fields = scalars(3);
+                if (level + 1 < size) {
+                    fields.add(field("next", TypeRef.object("Node" + (level + 1), "bench.Node" + (level + 1))));
+                }
+                put(classes, new ClassModel("bench.Node" + level, "Node" + level, fields));
+            }
+            return new TypeModel("bench.Node0", classes, false);
+        }
+    },
+
+    /**
+     * 每层两个类, 都引用下一层的两个类, 共享的类在输出中被反复展开
+     */
+    DIAMOND {
+        @Override
+        TypeModel build(int size) {
+            Map<String, ClassModel> classes = new LinkedHashMap<>();
+            int layers = Math.max(1, size / 2);
+            for (int layer = 0; layer < layers; layer++) {
+                for (String side : new String[]{"L", "R"}) {
+                    List<FieldModel> fields = scalars(2);
+                    if (layer + 1 < layers) {
+                        fields.add(field("left", TypeRef.object("L" + (layer + 1), "bench.L" + (layer + 1))));
+                        fields.add(field("right", TypeRef.object("R" + (layer + 1), "bench.R" + (layer + 1))));
+                    }
+                    put(classes, new ClassModel("bench." + side + layer, side + layer, fields));
+                }
+            }
+            return new TypeModel("bench.L0", classes, false);
+        }
+    },
+
+    /**
+     * size 组 List/Set/数组/嵌套 List 字段, 元素是带标签列表的对象
+     */
+    COLLECTIONS {
+        @Override
+        TypeModel build(int size) {
+            Map<String, ClassModel> classes = new LinkedHashMap<>();
+            TypeRef item = TypeRef.object("Item", "bench.Item");
+            TypeRef tag = TypeRef.object("Tag", "bench.Tag");
+            List<FieldModel> fields = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                fields.add(field("items" + i, TypeRef.collection("List<Item>", item)));
+                fields.add(field("names" + i, TypeRef.collection("Set<String>", TypeRef.normal("String"))));
+                fields.add(field("array" + i, TypeRef.array("Item[]", item)));
+                fields.add(field("ids" + i, TypeRef.array("long[]", TypeRef.primitive("long"))));
+                fields.add(field("matrix" + i, TypeRef.collection("List<List<Item>>", TypeRef.collection("List<Item>", item))));
+            }
+            put(classes, new ClassModel("bench.Order", "Order", fields));
+            List<FieldModel> itemFields = scalars(4);
+            itemFields.add(field("tags", TypeRef.collection("List<Tag>", tag)));
+            put(classes, new ClassModel("bench.Item", "Item", itemFields));
+            put(classes, new ClassModel("bench.Tag", "Tag", scalars(2)));
+            return new TypeModel("bench.Order", classes, false);
+        }
+    };
+
+    private static final TypeRef[] SCALARS = {
+            TypeRef.primitive("int"), TypeRef.normal("String"), TypeRef.normal("Long"),
+            TypeRef.normal("Date"), TypeRef.normal("BigDecimal"), TypeRef.primitive("boolean")
+    };
+
+    abstract TypeModel build(int size);
+
+    private static List<FieldModel> scalars(int count) {
+        List<FieldModel> fields = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            fields.add(scalar("value" + i, i));
+        }
+        return fields;
+    }
+
+    private static FieldModel scalar(String name, int index) {
+        return field(name, SCALARS[index % SCALARS.length]);
+    }
+
+    private static FieldModel field(String name, TypeRef type) {
+        return new FieldModel(name, type, name + " 的说明");
+    }
+
+    private static void put(Map<String, ClassModel> classes, ClassModel classModel) {
+        classes.put(classModel.getKey(), classModel);
+    }
+}
@@ -0,0 +1,18 @@
+import benchmark.RemarkWorkload;
+
+/**
+ * @description: RemarkWorkload 的实现
+ * @date: 2026/10/18
+ */
+public class RemarkWorkloads implements RemarkWorkload {
+
+    @Override
+    public String clean(String docText) {
+        return DocRemarks.clean(docText);
+    }
+
+    @Override
+    public String trimFirstAndLastChar(String source, char element) {
+        return DocRemarks.trimFirstAndLastChar(source, element);
+    }
+}
@@ -0,0 +1,12 @@
+package benchmark;
+
+/**
+ * @description: 基准测试入口, 没有参数时运行全部并带上 gc 分析器以查看分配速率, 有参数时原样交给 JMH
+ * @date: 2026/10/18
+ */
+public class BenchMain {
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args.length == 0 ? new String[]{"-prof", "gc"} : args);
+    }
+}
@@ -0,0 +1,82 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description: 字段遍历和输出随模型规模、深度、扇出、集合嵌套的开销
+ * @date: 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmitterBenchmark {
+
+    @Param({"WIDE", "DEEP", "DIAMOND", "COLLECTIONS"})
+    private String shape;
+
+    @Param({"8", "24"})
+    private int size;
+
+    private EmitterWorkload workload;
+
+    @Setup
+    public void setUp() {
+        workload = Workloads.load("EmitterWorkloads", EmitterWorkload.class);
+        workload.prepare(shape, size);
+    }
+
+    @Benchmark
+    public long sampleStream() {
+        return workload.sampleStream();
+    }
+
+    @Benchmark
+    public long typedStream() {
+        return workload.typedStream();
+    }
+
+    @Benchmark
+    public long yapiStream() {
+        return workload.yapiStream();
+    }
+
+    @Benchmark
+    public long yapiSharedStream() {
+        return workload.yapiSharedStream();
+    }
+
+    @Benchmark
+    public long sampleMinified() {
+        return workload.sampleEncoded("MINIFIED");
+    }
+
+    @Benchmark
+    public long sampleCbor() {
+        return workload.sampleEncoded("CBOR");
+    }
+
+    @Benchmark
+    public long sampleMessagePack() {
+        return workload.sampleEncoded("MESSAGE_PACK");
+    }
+
+    @Benchmark
+    public Object buildKv() {
+        return workload.buildKv();
+    }
+
+    @Benchmark
+    public String kvToPrettyJson() {
+        return workload.kvToPrettyJson();
+    }
+
+    @Benchmark
+    public String toPrettyJson() {
+        return workload.toPrettyJson();
+    }
+}
@@ -0,0 +1,38 @@
+package benchmark;
+
+/**
+ * @description: 字段遍历与输出, 由默认包中的 EmitterWorkloads 实现
+ * @date: 2026/10/18
+ */
+public interface EmitterWorkload {
+
+    /**
+     * 按 ModelShape 的名字和规模生成模型
+     */
+    void prepare(String shape, int size);
+
+    /**
+     * 流式输出, 返回写出的字符数
+     */
+    long sampleStream();
+
+    long typedStream();
+
+    long yapiStream();
+
+    /**
+     * 每个类只在 definitions 中写一次
+     */
+    long yapiSharedStream();
+
+    /**
+     * 示例按 OutputEncoding 的名字编码输出, 返回写出的字节数
+     */
+    long sampleEncoded(String encoding);
+
+    Object buildKv();
+
+    String kvToPrettyJson();
+
+    String toPrettyJson();
+}
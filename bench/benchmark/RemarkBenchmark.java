@@ -0,0 +1,61 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description: 字段注释清理的开销
+ * @date: 2026/10/18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RemarkBenchmark {
+
+    public enum Doc {
+        SHORT("/** 订单号 */"),
+        MULTILINE("/**\n     * 订单状态\n     * 0 待支付, 1 已支付, 2 已取消\n     * @see OrderStatus\n     */"),
+        LONG("/**\n" + repeat("     * 收货地址, 包含省市区和详细地址, 用于物流下单\n", 20) + "     */");
+
+        private final String text;
+
+        Doc(String text) {
+            this.text = text;
+        }
+    }
+
+    @Param({"SHORT", "MULTILINE", "LONG"})
+    private Doc doc;
+
+    private RemarkWorkload workload;
+
+    private String commas;
+
+    @Setup
+    public void setUp() {
+        workload = Workloads.load("RemarkWorkloads", RemarkWorkload.class);
+        commas = ",,," + doc.text.replace("\n", ",") + ",,,";
+    }
+
+    @Benchmark
+    public String clean() {
+        return workload.clean(doc.text);
+    }
+
+    @Benchmark
+    public String trimFirstAndLastChar() {
+        return workload.trimFirstAndLastChar(commas, ',');
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,12 @@
+package benchmark;
+
+/**
+ * @description: 注释清理, 由默认包中的 RemarkWorkloads 实现
+ * @date: 2026/10/18
+ */
+public interface RemarkWorkload {
+
+    String clean(String docText);
+
+    String trimFirstAndLastChar(String source, char element);
+}
@@ -0,0 +1,19 @@
+package benchmark;
+
+/**
+ * @description: 插件的类都在默认包中, 有包名的基准测试无法直接引用, 通过默认包中的实现类调用
+ * @date: 2026/10/18
+ */
+final class Workloads {
+
+    private Workloads() {
+    }
+
+    static <T> T load(String className, Class<T> type) {
+        try {
+            return type.cast(Class.forName(className).newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Load " + className + " failed", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+#!/bin/sh
+# 不需要 IDE, 直接用 javac 编译与 PSI 无关的类和基准测试后运行.
+# BENCH_CLASSPATH 需要包含 jmh-core, jmh-generator-annprocess, jopt-simple, commons-math3, gson, jetbrains annotations.
+# 例: BENCH_CLASSPATH=$(ls ~/jars/*.jar | tr '\n' ':') bench/run.sh EmitterBenchmark -p shape=DEEP
+set -e
+cd "$(dirname "$0")/.."
+: "${BENCH_CLASSPATH:?set BENCH_CLASSPATH to the JMH, gson and annotations jars}"
+OUT=out/bench
+rm -rf "$OUT"
+mkdir -p "$OUT"
+javac -encoding UTF-8 -source 8 -target 8 -nowarn -d "$OUT" -cp "$BENCH_CLASSPATH" \
+    src/BinaryJsonWriter.java src/CborWriter.java src/MessagePackWriter.java src/OutputEncoding.java \
+    src/ClassModel.java src/DocRemarks.java src/FieldModel.java src/FieldWalker.java src/GenerationProfile.java src/JsonEmitter.java \
+    src/JsonOptions.java src/KV.java src/JsonValueWriter.java src/KVWriter.java src/SampleJsonEmitter.java \
+    src/TypeModel.java src/TypeRef.java src/TypedJsonEmitter.java src/YapiSchemaEmitter.java \
+    bench/*.java bench/benchmark/*.java
+java -cp "$OUT:$BENCH_CLASSPATH" benchmark.BenchMain "$@"
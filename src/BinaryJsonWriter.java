@@ -0,0 +1,359 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @description: 把 JsonWriter 的写操作编码成二进制格式. 容器的长度要写在开头, 一个顶层值先写入缓冲区并记下每个容器的位置和元素个数,
+ * 顶层值结束时一次写出. 多个顶层值依次写出, 即 CBOR Sequence / MessagePack 流
+ * @date: 2026/10/18
+ */
+public abstract class BinaryJsonWriter extends JsonWriter {
+
+    private static final Writer UNWRITABLE_WRITER = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int counter) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void flush() {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final OutputStream out;
+
+    private byte[] body = new byte[1024];
+
+    private int size;
+
+    /**
+     * 每个容器一项: 在 body 中的位置, 元素个数, 是否是对象. 按开始的顺序排列, 位置不减
+     */
+    private int[] containers = new int[48];
+
+    private int containerCount;
+
+    /**
+     * 打开的容器在 containers 中的下标
+     */
+    private int[] open = new int[16];
+
+    private int depth;
+
+    private String pendingName;
+
+    protected BinaryJsonWriter(OutputStream out) {
+        super(UNWRITABLE_WRITER);
+        this.out = out;
+    }
+
+    protected abstract void writeHeader(OutputStream out, boolean object, int count) throws IOException;
+
+    protected abstract void encodeString(String value);
+
+    protected abstract void encodeNull();
+
+    protected abstract void encodeBoolean(boolean value);
+
+    protected abstract void encodeLong(long value);
+
+    protected abstract void encodeDouble(double value);
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        return begin(true);
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        return end(true);
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        return begin(false);
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        return end(false);
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        if (name == null) {
+            throw new NullPointerException("name == null");
+        }
+        if (pendingName != null || depth == 0 || !isObject(open[depth - 1])) {
+            throw new IllegalStateException("Unexpected name " + name);
+        }
+        pendingName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        encodeString(value);
+        return afterValue();
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (pendingName != null && !getSerializeNulls()) {
+            // 与 JsonWriter 一致, 对象中值为 null 的字段连同字段名一起省略
+            pendingName = null;
+            return this;
+        }
+        beforeValue();
+        encodeNull();
+        return afterValue();
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        encodeBoolean(value);
+        return afterValue();
+    }
+
+    @Override
+    public JsonWriter value(Boolean value) throws IOException {
+        return value == null ? nullValue() : value((boolean) value);
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        beforeValue();
+        encodeDouble(value);
+        return afterValue();
+    }
+
+    /**
+     * gson 2.9.1 起才有 value(float), 不加 @Override 以便用 IDE 自带的旧版本编译; 不覆盖时会写到 UNWRITABLE_WRITER.
+     * float 转成 double 不损失精度, encodeDouble 按单精度写出
+     */
+    public JsonWriter value(float value) throws IOException {
+        return value((double) value);
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        encodeLong(value);
+        return afterValue();
+    }
+
+    /**
+     * 整数按整数编码, 超出 long 范围或带小数的按浮点数编码
+     */
+    @Override
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return value(value.longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return value(value.doubleValue());
+        }
+        String text = value.toString();
+        if (isInteger(text)) {
+            try {
+                return value(Long.parseLong(text));
+            } catch (NumberFormatException e) {
+                // 超出 long 范围
+            }
+        }
+        return value(Double.parseDouble(text));
+    }
+
+    /**
+     * 原样的 json 文本需要先解析才能编码, 不支持
+     */
+    @Override
+    public JsonWriter jsonValue(String value) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot write raw JSON text, write the parsed value instead");
+    }
+
+    /**
+     * 还在缓冲区中, 没有写到流里的字节数
+     */
+    public int getPending() {
+        return size;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (depth > 0) {
+            throw new IOException("Incomplete document");
+        }
+        out.close();
+    }
+
+    /**
+     * 以下供子类编码标量
+     */
+    protected final void writeByte(int value) {
+        ensureCapacity(1);
+        body[size++] = (byte) value;
+    }
+
+    protected final void writeShort(int value) {
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    protected final void writeInt(int value) {
+        writeShort(value >>> 16);
+        writeShort(value);
+    }
+
+    protected final void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    protected final void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, body, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * 与 String.getBytes(UTF_8) 的长度一致, 不成对的代理字符按 '?' 算 1 字节
+     */
+    protected static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 先用 {@link #utf8Length} 写出长度, 再写内容. ASCII 直接写入, 其余交给 String.getBytes
+     */
+    protected final void writeUtf8(String value, int utf8Length) {
+        if (utf8Length != value.length()) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        ensureCapacity(utf8Length);
+        for (int i = 0; i < utf8Length; i++) {
+            body[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private static boolean isInteger(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && !(i == 0 && c == '-')) {
+                return false;
+            }
+        }
+        return !text.isEmpty();
+    }
+
+    private JsonWriter begin(boolean object) throws IOException {
+        beforeValue();
+        if (containerCount * 3 == containers.length) {
+            containers = Arrays.copyOf(containers, containers.length * 2);
+        }
+        if (depth == open.length) {
+            open = Arrays.copyOf(open, depth * 2);
+        }
+        int index = containerCount++;
+        containers[index * 3] = size;
+        containers[index * 3 + 1] = 0;
+        containers[index * 3 + 2] = object ? 1 : 0;
+        open[depth++] = index;
+        return this;
+    }
+
+    private JsonWriter end(boolean object) throws IOException {
+        if (depth == 0 || isObject(open[depth - 1]) != object) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        if (pendingName != null) {
+            throw new IllegalStateException("Dangling name: " + pendingName);
+        }
+        depth--;
+        return afterValue();
+    }
+
+    private void beforeValue() {
+        if (depth == 0) {
+            return;
+        }
+        int index = open[depth - 1];
+        if (isObject(index)) {
+            if (pendingName == null) {
+                throw new IllegalStateException("Missing name");
+            }
+            encodeString(pendingName);
+            pendingName = null;
+        }
+        containers[index * 3 + 1]++;
+    }
+
+    /**
+     * 顶层值写完后按顺序穿插容器头写出
+     */
+    private JsonWriter afterValue() throws IOException {
+        if (depth > 0) {
+            return this;
+        }
+        int offset = 0;
+        for (int i = 0; i < containerCount; i++) {
+            int position = containers[i * 3];
+            out.write(body, offset, position - offset);
+            writeHeader(out, isObject(i), containers[i * 3 + 1]);
+            offset = position;
+        }
+        out.write(body, offset, size - offset);
+        size = 0;
+        containerCount = 0;
+        return this;
+    }
+
+    private boolean isObject(int index) {
+        return containers[index * 3 + 2] == 1;
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > body.length) {
+            body = Arrays.copyOf(body, Math.max(body.length * 2, size + length));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+
+/**
+ * @description: 项目视图中选中包/目录/模块, 批量生成
+ * @date: 2026/10/18
+ */
+public class BuildJsonForPackage extends AnAction {
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && (getElements(e) != null || getModule(e) != null));
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        PsiElement[] elements = getElements(e);
+        Module module = getModule(e);
+        if (project == null || (elements == null && module == null)) {
+            return;
+        }
+        String title = "Convert To JSON";
+        int formatIndex = Messages.showChooseDialog(project, "Output format:", title, Messages.getQuestionIcon(),
+                JsonFormat.displayNames(), JsonFormat.SAMPLE.getDisplayName());
+        if (formatIndex < 0) {
+            return;
+        }
+        OutputEncoding defaultEncoding = OutputEncoding.of(PojoToJsonSettings.getInstance().getProfile().getJsonOptions());
+        int encodingIndex = Messages.showChooseDialog(project, "Encoding:", title, Messages.getQuestionIcon(),
+                OutputEncoding.displayNames(), defaultEncoding.getDisplayName());
+        if (encodingIndex < 0) {
+            return;
+        }
+        int layout = Messages.showYesNoCancelDialog(project, "Write one file per class, or a single document keyed by class name?",
+                title, "One File Per Class", "Single Document", "Cancel", Messages.getQuestionIcon());
+        if (layout == Messages.CANCEL) {
+            return;
+        }
+        VirtualFile outputDir = FileChooser.chooseFile(FileChooserDescriptorFactory.createSingleFolderDescriptor(), project, null);
+        if (outputDir == null) {
+            return;
+        }
+        BulkBuildJsonTask.ClassSource source = () -> {
+            PsiClassCollector collector = new PsiClassCollector();
+            if (elements != null) {
+                for (PsiElement element : elements) {
+                    collector.add(element);
+                }
+            } else {
+                collector.add(module);
+            }
+            return collector.getClasses();
+        };
+        new BulkBuildJsonTask(project, source, JsonFormat.values()[formatIndex], OutputEncoding.values()[encodingIndex],
+                layout == Messages.NO, VfsUtilCore.virtualToIoFile(outputDir), PojoToJsonNotifications.getGroup()).queue();
+    }
+
+    private static PsiElement[] getElements(AnActionEvent e) {
+        PsiElement[] elements = e.getData(LangDataKeys.PSI_ELEMENT_ARRAY);
+        return elements == null || elements.length == 0 ? null : elements;
+    }
+
+    private static Module getModule(AnActionEvent e) {
+        return e.getData(LangDataKeys.MODULE_CONTEXT);
+    }
+}
@@ -0,0 +1,67 @@
+import com.intellij.notification.*;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.InputValidator;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+
+/**
+ * @description: 生成多个随机示例文档(JSON Lines)写入文件, 用于压测数据
+ * @date: 2026/10/18
+ */
+public class BuildJsonSamples extends AnAction {
+
+    private static final int MAX_COUNT = 10_000_000;
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Editor editor = (Editor) e.getDataContext().getData(CommonDataKeys.EDITOR);
+        PsiFile psiFile = (PsiFile) e.getDataContext().getData(CommonDataKeys.PSI_FILE);
+        Project project = editor.getProject();
+        PsiElement referenceAt = psiFile.findElementAt(editor.getCaretModel().getOffset());
+        PsiClass selectedClass = (PsiClass) PsiTreeUtil.getContextOfType(referenceAt, new Class[]{PsiClass.class});
+        if (selectedClass == null) {
+            Notification error = PojoToJsonNotifications.getGroup().createNotification("Convert to JSON failed.", NotificationType.ERROR);
+            Notifications.Bus.notify(error, project);
+            return;
+        }
+        String input = Messages.showInputDialog(project, "Number of documents:", "Generate Random Samples",
+                Messages.getQuestionIcon(), "1000", new InputValidator() {
+                    @Override
+                    public boolean checkInput(String inputString) {
+                        return parseCount(inputString) > 0;
+                    }
+
+                    @Override
+                    public boolean canClose(String inputString) {
+                        return checkInput(inputString);
+                    }
+                });
+        if (input == null) {
+            return;
+        }
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("Save Random Samples", "One JSON document per line", "jsonl");
+        VirtualFileWrapper target = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project)
+                .save(null, selectedClass.getName() + ".jsonl");
+        if (target == null) {
+            return;
+        }
+        new RandomSamplesTask(project, selectedClass, parseCount(input), target.getFile(), PojoToJsonNotifications.getGroup()).queue();
+    }
+
+    private static int parseCount(String input) {
+        try {
+            int count = Integer.parseInt(input.trim());
+            return count <= MAX_COUNT ? count : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
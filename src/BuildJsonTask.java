@@ -0,0 +1,96 @@
+import com.google.gson.stream.JsonWriter;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationGroup;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * @description: 后台读操作中建模, 在读操作之外写出到 OutputSink, 只把剪贴板/编辑器和通知放回 EDT
+ * @date: 2026/10/18
+ */
+public class BuildJsonTask extends Task.Backgroundable {
+
+    private final PsiClass psiClass;
+
+    private final String className;
+
+    /**
+     * 输出的名字, 如 com.foo.Order.sample
+     */
+    private final String name;
+
+    private final JsonFormat format;
+
+    private final NotificationGroup notificationGroup;
+
+    private final GenerationProfile profile;
+
+    private final OutputSink sink;
+
+    private final List<String> warnings = new ArrayList<>();
+
+    private final ConversionStats stats = new ConversionStats();
+
+    public BuildJsonTask(Project project, PsiClass psiClass, JsonFormat format, NotificationGroup notificationGroup) {
+        super(project, "Converting " + psiClass.getName() + " to JSON", true);
+        this.psiClass = psiClass;
+        this.className = psiClass.getName();
+        this.name = TypeModelBuilder.keyOf(psiClass) + "." + format.name().toLowerCase(Locale.ROOT);
+        this.format = format;
+        this.notificationGroup = notificationGroup;
+        this.profile = PojoToJsonSettings.getInstance().getProfile();
+        this.sink = PojoToJsonSettings.getInstance().getOutputTarget().newSink(project);
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        indicator.setText("Converting " + className + " to JSON");
+        long start = System.nanoTime();
+        TypeModel model = ReadAction.compute(() -> new TypeModelBuilder(profile, stats).build(psiClass));
+        long modelNanos = System.nanoTime() - start;
+        JsonEmitter emitter = format.newEmitter(profile);
+        try {
+            sink.prepare(name, writer -> {
+                ConversionStats.CountingWriter counter = new ConversionStats.CountingWriter(writer);
+                JsonWriter out = profile.getJsonOptions().newWriter(counter);
+                stats.addOutputBytes(stats.emit(name, model, modelNanos, emitter, out, counter, warnings));
+                out.flush();
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Write " + name + " failed: " + e.getMessage(), e);
+        }
+        stats.finish();
+    }
+
+    @Override
+    public void onSuccess() {
+        String message = "Convert " + className + " to JSON success, " + sink.deliver(myProject) + ".";
+        notify(message, NotificationType.INFORMATION);
+        for (String warning : warnings) {
+            notify(warning, NotificationType.WARNING);
+        }
+        ConversionReport.publish(myProject, notificationGroup, stats, name);
+    }
+
+    @Override
+    public void onThrowable(@NotNull Throwable error) {
+        notify("Convert to JSON failed: " + error.getMessage(), NotificationType.ERROR);
+    }
+
+    private void notify(String message, NotificationType type) {
+        Notification notification = notificationGroup.createNotification(message, type);
+        Notifications.Bus.notify(notification, myProject);
+    }
+}
@@ -0,0 +1,314 @@
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.intellij.concurrency.SensitiveProgressWrapper;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationGroup;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.psi.PsiClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @description: 批量生成, 每个类在线程池中各自的读操作里建模, 有写操作等待时让出读锁后重试, 嵌套类型通过 SchemaCache 共用.
+ * 依赖索引中记录的类都没有改动时跳过该类. 编码每次生成时选择, 流式编码的合并文档每个类一条记录 {"class": 类名, "value": 内容}
+ * @date: 2026/10/18
+ */
+public class BulkBuildJsonTask extends Task.Backgroundable {
+
+    private static final int MAX_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    public interface ClassSource {
+        /**
+         * 在读操作中调用
+         */
+        List<PsiClass> collect();
+    }
+
+    private final ClassSource source;
+
+    private final JsonFormat format;
+
+    private final OutputEncoding encoding;
+
+    private final boolean combined;
+
+    private final File outputDir;
+
+    private final NotificationGroup notificationGroup;
+
+    private final GenerationProfile profile;
+
+    private final JsonEmitter emitter;
+
+    private final Set<String> warnings = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    private final ConversionStats stats = new ConversionStats();
+
+    private int converted;
+
+    private int unchanged;
+
+    public BulkBuildJsonTask(Project project, ClassSource source, JsonFormat format, OutputEncoding encoding, boolean combined,
+                             File outputDir, NotificationGroup notificationGroup) {
+        super(project, "Converting classes to JSON", true);
+        this.source = source;
+        this.format = format;
+        this.encoding = encoding;
+        this.combined = combined;
+        this.outputDir = outputDir;
+        this.notificationGroup = notificationGroup;
+        this.profile = PojoToJsonSettings.getInstance().getProfile();
+        this.emitter = format.newEmitter(profile);
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        indicator.setText("Collecting classes");
+        List<PsiClass> classes = ReadAction.compute(source::collect);
+        indicator.setIndeterminate(false);
+
+        DependencyIndex dependencyIndex = DependencyIndex.load(outputDir, format.name() + ":" + encoding.name() + (combined ? ":combined:" : ":file:") + profile.getSignature());
+        ClassFingerprints fingerprints = new ClassFingerprints(myProject);
+        JsonObject previous = combined ? readPrevious() : null;
+        int total = classes.size();
+        String[] names = new String[total];
+        TypeModel[] models = new TypeModel[total];
+        long[] modelNanos = new long[total];
+        JsonElement[] reused = new JsonElement[total];
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(MAX_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                int index = i;
+                PsiClass psiClass = classes.get(i);
+                futures.add(pool.submit(() -> ProgressManager.getInstance().executeProcessUnderProgress(() -> {
+                    indicator.checkCanceled();
+                    // 有写操作(输入)等待时读操作让出读锁, 写操作结束后重新处理这个类. 已经建好的嵌套类型留在 SchemaCache 中
+                    while (!ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(() -> {
+                        names[index] = TypeModelBuilder.keyOf(psiClass);
+                        JsonElement output = previousOutput(previous, names[index]);
+                        Map<String, String> recorded = dependencyIndex.get(names[index]);
+                        if (output != null && recorded != null && fingerprints.matches(recorded)) {
+                            reused[index] = output;
+                            return;
+                        }
+                        long start = System.nanoTime();
+                        TypeModelBuilder builder = new TypeModelBuilder(profile, stats);
+                        models[index] = builder.build(psiClass);
+                        modelNanos[index] = System.nanoTime() - start;
+                        dependencyIndex.put(names[index], fingerprints.of(builder.getFiles()));
+                    }, new SensitiveProgressWrapper(indicator))) {
+                        indicator.checkCanceled();
+                        ProgressIndicatorUtils.yieldToPendingWriteActions();
+                    }
+                    if (reused[index] != null) {
+                        skipped.incrementAndGet();
+                    } else if (!combined) {
+                        // 模型与 PSI 无关, 写文件不需要持有读锁
+                        writeFile(names[index], models[index], modelNanos[index]);
+                        models[index] = null;
+                    }
+                    indicator.setFraction((double) done.incrementAndGet() / total);
+                    indicator.setText2(names[index]);
+                }, indicator)));
+            }
+            for (Future<?> future : futures) {
+                await(future, indicator);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        if (combined && (skipped.get() < total || previous == null || previous.size() != total)) {
+            indicator.setText("Writing " + combinedFileName());
+            writeCombined(names, models, modelNanos, reused);
+        }
+        dependencyIndex.retain(Arrays.asList(names));
+        try {
+            dependencyIndex.save(outputDir);
+        } catch (IOException e) {
+            warnings.add("Save " + DependencyIndex.FILE_NAME + " failed: " + e.getMessage());
+        }
+        converted = total - skipped.get();
+        unchanged = skipped.get();
+        stats.finish();
+    }
+
+    @Override
+    public void onSuccess() {
+        LocalFileSystem.getInstance().refreshIoFiles(Collections.singletonList(outputDir));
+        String message = "Convert " + converted + " classes to JSON success";
+        if (unchanged > 0) {
+            message += ", " + unchanged + " unchanged";
+        }
+        notify(message + ", written to " + outputDir.getPath() + ".", NotificationType.INFORMATION);
+        for (String warning : warnings) {
+            notify(warning, NotificationType.WARNING);
+        }
+        ConversionReport.publish(myProject, notificationGroup, stats, format.getDisplayName());
+    }
+
+    @Override
+    public void onThrowable(@NotNull Throwable error) {
+        notify("Convert to JSON failed: " + error.getMessage(), NotificationType.ERROR);
+    }
+
+    private void await(Future<?> future, ProgressIndicator indicator) {
+        while (true) {
+            indicator.checkCanceled();
+            try {
+                future.get(100, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                // 继续等待, 期间响应取消
+            } catch (InterruptedException e) {
+                throw new ProcessCanceledException();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    /**
+     * 上次生成的结果. 单文件模式下只确认文件还在, 合并模式下从上次的文档中取出该类的部分.
+     */
+    private JsonElement previousOutput(JsonObject previous, String name) {
+        if (combined) {
+            return previous == null ? null : previous.get(name);
+        }
+        return new File(outputDir, name + "." + encoding.getExtension()).isFile() ? JsonNull.INSTANCE : null;
+    }
+
+    private String combinedFileName() {
+        return format.getDisplayName() + "." + encoding.getExtension();
+    }
+
+    /**
+     * 二进制的合并文档不读回, 每次重新生成
+     */
+    private JsonObject readPrevious() {
+        File file = new File(outputDir, combinedFileName());
+        if (encoding.isBinary() || !file.isFile()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (encoding == OutputEncoding.JSON_LINES) {
+                return readRecords(reader);
+            }
+            JsonElement element = new JsonParser().parse(reader);
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static JsonObject readRecords(BufferedReader reader) throws IOException {
+        JsonObject records = new JsonObject();
+        JsonParser parser = new JsonParser();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isEmpty()) {
+                JsonObject record = parser.parse(line).getAsJsonObject();
+                records.add(record.get("class").getAsString(), record.get("value"));
+            }
+        }
+        return records;
+    }
+
+    private void writeFile(String name, TypeModel model, long modelNanos) {
+        String fileName = name + "." + encoding.getExtension();
+        List<String> classWarnings = new ArrayList<>();
+        try {
+            FileSink.writeBytes(new File(outputDir, fileName).toPath(), stream -> {
+                ConversionStats.CountingOutputStream counter = new ConversionStats.CountingOutputStream(stream);
+                JsonWriter out = encoding.newWriter(counter, profile.getJsonOptions());
+                stats.emit(name, model, modelNanos, emitter, out, ConversionStats.position(out, counter), classWarnings);
+                out.flush();
+                encoding.endDocument(counter);
+                stats.addOutputBytes(counter.getBytes());
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Write " + fileName + " failed", e);
+        }
+        warnings.addAll(classWarnings);
+    }
+
+    /**
+     * 以全限定名为 key 合并成一个文档, 流式编码则每个类一条记录. 没有变化的类沿用上次的内容.
+     */
+    private void writeCombined(String[] names, TypeModel[] models, long[] modelNanos, JsonElement[] reused) {
+        String fileName = combinedFileName();
+        List<String> classWarnings = new ArrayList<>();
+        try {
+            FileSink.writeBytes(new File(outputDir, fileName).toPath(), stream -> {
+                ConversionStats.CountingOutputStream counter = new ConversionStats.CountingOutputStream(stream);
+                JsonWriter out = null;
+                if (!encoding.isStream()) {
+                    out = encoding.newWriter(counter, profile.getJsonOptions());
+                    out.beginObject();
+                }
+                for (int i = 0; i < names.length; i++) {
+                    if (encoding.isStream()) {
+                        out = encoding.newWriter(counter, profile.getJsonOptions());
+                        out.beginObject();
+                        out.name("class").value(names[i]);
+                        out.name("value");
+                    } else {
+                        out.name(names[i]);
+                    }
+                    if (reused[i] != null) {
+                        JsonValueWriter.writeElement(out, reused[i]);
+                    } else {
+                        stats.emit(names[i], models[i], modelNanos[i], emitter, out, ConversionStats.position(out, counter), classWarnings);
+                    }
+                    if (encoding.isStream()) {
+                        out.endObject();
+                        out.flush();
+                        encoding.endDocument(counter);
+                    }
+                }
+                if (!encoding.isStream()) {
+                    out.endObject();
+                    out.flush();
+                }
+                stats.addOutputBytes(counter.getBytes());
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Write " + fileName + " failed", e);
+        }
+        warnings.addAll(classWarnings);
+    }
+
+    private void notify(String message, NotificationType type) {
+        Notification notification = notificationGroup.createNotification(message, type);
+        Notifications.Bus.notify(notification, myProject);
+    }
+}
@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @description: CBOR (RFC 8949) 编码, 容器使用定长头. 整数取最短编码, 能无损转成 float 的小数按单精度写出
+ * @date: 2026/10/18
+ */
+public class CborWriter extends BinaryJsonWriter {
+
+    private static final int UNSIGNED = 0;
+
+    private static final int NEGATIVE = 1 << 5;
+
+    private static final int TEXT = 3 << 5;
+
+    private static final int ARRAY = 4 << 5;
+
+    private static final int MAP = 5 << 5;
+
+    public CborWriter(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    protected void writeHeader(OutputStream out, boolean object, int count) throws IOException {
+        int major = object ? MAP : ARRAY;
+        if (count < 24) {
+            out.write(major | count);
+        } else if (count < 0x100) {
+            out.write(major | 24);
+            out.write(count);
+        } else if (count < 0x10000) {
+            out.write(major | 25);
+            out.write(count >>> 8);
+            out.write(count);
+        } else {
+            out.write(major | 26);
+            out.write(count >>> 24);
+            out.write(count >>> 16);
+            out.write(count >>> 8);
+            out.write(count);
+        }
+    }
+
+    @Override
+    protected void encodeString(String value) {
+        int length = utf8Length(value);
+        head(TEXT, length);
+        writeUtf8(value, length);
+    }
+
+    @Override
+    protected void encodeNull() {
+        writeByte(0xf6);
+    }
+
+    @Override
+    protected void encodeBoolean(boolean value) {
+        writeByte(value ? 0xf5 : 0xf4);
+    }
+
+    @Override
+    protected void encodeLong(long value) {
+        if (value >= 0) {
+            head(UNSIGNED, value);
+        } else {
+            // 负数编码为 -1 - n
+            head(NEGATIVE, -1 - value);
+        }
+    }
+
+    @Override
+    protected void encodeDouble(double value) {
+        float single = (float) value;
+        if (single == value || Double.isNaN(value)) {
+            writeByte(0xfa);
+            writeInt(Float.floatToIntBits(single));
+        } else {
+            writeByte(0xfb);
+            writeLong(Double.doubleToLongBits(value));
+        }
+    }
+
+    private void head(int major, long value) {
+        if (value < 24) {
+            writeByte(major | (int) value);
+        } else if (value < 0x100) {
+            writeByte(major | 24);
+            writeByte((int) value);
+        } else if (value < 0x10000) {
+            writeByte(major | 25);
+            writeShort((int) value);
+        } else if (value < 0x100000000L) {
+            writeByte(major | 26);
+            writeInt((int) value);
+        } else {
+            writeByte(major | 27);
+            writeLong(value);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiCompiledElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: 计算建模时读过的文件的指纹, 类本身、父类、字段类型(包括内联进模型的枚举常量)的源码改动都会改变指纹.
+ * 一次批量生成内共用, 需要在读操作中调用
+ * @date: 2026/10/18
+ */
+public class ClassFingerprints {
+
+    private final Project project;
+
+    /**
+     * 文件 url -> 指纹
+     */
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    public ClassFingerprints(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 每个文件的指纹, files 取自 {@link TypeModelBuilder#getFiles()}
+     */
+    public Map<String, String> of(Collection<PsiFile> files) {
+        Map<String, String> result = new TreeMap<>();
+        for (PsiFile file : files) {
+            VirtualFile virtualFile = file.getVirtualFile();
+            if (virtualFile != null) {
+                result.put(virtualFile.getUrl(), of(virtualFile.getUrl(), file));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 上次记录的指纹与当前全部一致
+     */
+    public boolean matches(Map<String, String> previous) {
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            if (!entry.getValue().equals(of(entry.getKey(), null))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 找不到文件时返回空字符串
+     */
+    private String of(String url, PsiFile file) {
+        String fingerprint = fingerprints.get(url);
+        if (fingerprint == null) {
+            if (file == null) {
+                VirtualFile virtualFile = VirtualFileManager.getInstance().findFileByUrl(url);
+                file = virtualFile == null || !virtualFile.isValid() ? null : PsiManager.getInstance(project).findFile(virtualFile);
+            }
+            fingerprint = file == null ? "" : compute(file);
+            fingerprints.put(url, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 库中的类不取反编译文本, 以所在文件的时间戳代替
+     */
+    private static String compute(PsiFile file) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (file instanceof PsiCompiledElement) {
+            return virtualFile == null ? "" : virtualFile.getPath() + '@' + virtualFile.getTimeStamp();
+        }
+        MessageDigest digest = newDigest();
+        digest.update(file.getText().getBytes(StandardCharsets.UTF_8));
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @description: 类及其全部字段(包含父类)
+ * @date: 2026/10/18
+ */
+public final class ClassModel {
+
+    private final String key;
+
+    private final String name;
+
+    private final List<FieldModel> fields;
+
+    public ClassModel(String key, String name, List<FieldModel> fields) {
+        this.key = key;
+        this.name = name;
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * 唯一标识, 一般是全限定名
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<FieldModel> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,17 @@
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.Project;
+
+import java.awt.datatransfer.StringSelection;
+
+/**
+ * @description: 复制到剪贴板, 通过 CopyPasteManager 而不是直接使用 AWT 剪贴板
+ * @date: 2026/10/18
+ */
+public class ClipboardSink extends TextOutputSink {
+
+    @Override
+    public String deliver(Project project) {
+        CopyPasteManager.getInstance().setContents(new StringSelection(text));
+        return "copied to clipboard";
+    }
+}
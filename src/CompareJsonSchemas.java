@@ -0,0 +1,152 @@
+import com.google.gson.stream.JsonWriter;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * @description: 项目视图中选中两个 schema 文件或目录(或选中一个再选择旧版本), 比较 BuildJsonWithType/BuildJsonForYapi 的输出,
+ * 报告破坏兼容的改动. 比较 git 版本见 SchemaDiffCli
+ * @date: 2026/10/18
+ */
+public class CompareJsonSchemas extends AnAction {
+
+    @Override
+    public void update(AnActionEvent e) {
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        boolean enabled = e.getProject() != null && files != null && (files.length == 1 || files.length == 2);
+        for (int i = 0; enabled && i < files.length; i++) {
+            enabled = isSchema(files[i]);
+        }
+        e.getPresentation().setEnabledAndVisible(enabled);
+    }
+
+    /**
+     * 目录, 或 .json/.jsonl 文件. cbor/msgpack 等不能比较
+     */
+    private static boolean isSchema(VirtualFile file) {
+        return file.isDirectory() || SchemaSet.isSchemaFile(file.getName());
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (project == null || files == null || files.length == 0 || files.length > 2) {
+            return;
+        }
+        VirtualFile before;
+        VirtualFile after;
+        if (files.length == 2) {
+            String[] names = {files[0].getName(), files[1].getName()};
+            int index = Messages.showChooseDialog(project, "Which one is the old version?", "Compare JSON Schemas",
+                    Messages.getQuestionIcon(), names, names[0]);
+            if (index < 0) {
+                return;
+            }
+            before = files[index];
+            after = files[1 - index];
+        } else {
+            after = files[0];
+            FileChooserDescriptor descriptor = new FileChooserDescriptor(!after.isDirectory(), after.isDirectory(), false, false, false, false)
+                    .withTitle("Old Version of " + after.getName());
+            before = FileChooser.chooseFile(descriptor, project, after.getParent());
+            if (before == null) {
+                return;
+            }
+        }
+        // 比较磁盘上的内容
+        FileDocumentManager.getInstance().saveAllDocuments();
+        new CompareTask(project, VfsUtilCore.virtualToIoFile(before), VfsUtilCore.virtualToIoFile(after)).queue();
+    }
+
+    /**
+     * 批量生成的合并文档, 如 BuildJsonForYapi.json, 按类名拆开比较
+     */
+    private static boolean isCombined(File file) {
+        for (JsonFormat format : JsonFormat.values()) {
+            if (file.getName().equals(format.getDisplayName() + "." + OutputEncoding.PRETTY.getExtension())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class CompareTask extends Task.Backgroundable {
+
+        private final File before;
+
+        private final File after;
+
+        private final EditorTabSink sink = new EditorTabSink();
+
+        private SchemaDiff.Report report;
+
+        CompareTask(Project project, File before, File after) {
+            super(project, "Comparing JSON schemas", true);
+            this.before = before;
+            this.after = after;
+        }
+
+        @Override
+        public void run(@NotNull ProgressIndicator indicator) {
+            indicator.setIndeterminate(true);
+            try {
+                indicator.setText("Reading " + before.getName());
+                SchemaSet old = SchemaSet.of(before, isCombined(before));
+                indicator.setText("Reading " + after.getName());
+                SchemaSet current = SchemaSet.of(after, isCombined(after));
+                indicator.checkCanceled();
+                indicator.setText("Comparing " + current.size() + " schemas");
+                report = SchemaSet.compare(old, current, Runtime.getRuntime().availableProcessors());
+                if (!report.getChanges().isEmpty()) {
+                    sink.prepare(after.getName() + ".diff", writer -> {
+                        JsonWriter out = JsonOptions.PRETTY.newWriter(writer);
+                        report.writeTo(out);
+                        out.flush();
+                    });
+                }
+            } catch (InterruptedException e) {
+                throw new ProcessCanceledException();
+            } catch (IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void onSuccess() {
+            String message = before.getName() + " -> " + after.getName() + ": " + report.summary();
+            NotificationType type = report.hasBreaking() ? NotificationType.WARNING : NotificationType.INFORMATION;
+            if (!report.getChanges().isEmpty()) {
+                message += ", " + sink.deliver(myProject);
+            }
+            notify(message + ".", type);
+        }
+
+        @Override
+        public void onThrowable(@NotNull Throwable error) {
+            notify("Compare JSON schemas failed: " + error.getMessage(), NotificationType.ERROR);
+        }
+
+        private void notify(String message, NotificationType type) {
+            Notification notification = PojoToJsonNotifications.getGroup().createNotification(message, type);
+            Notifications.Bus.notify(notification, myProject);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+import com.google.gson.stream.JsonWriter;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationGroup;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+
+import java.io.IOException;
+
+/**
+ * @description: 生成结束后把 ConversionStats 写入 idea.log, 设置中打开时再显示通知, 可从通知导出 json 报告
+ * @date: 2026/10/18
+ */
+public final class ConversionReport {
+
+    private static final Logger LOG = Logger.getInstance(ConversionReport.class);
+
+    private ConversionReport() {
+    }
+
+    /**
+     * 在 EDT 调用.
+     * @param name 生成的对象, 用于日志和报告文件名.
+     */
+    public static void publish(Project project, NotificationGroup notificationGroup, ConversionStats stats, String name) {
+        String summary = stats.summary();
+        LOG.info("PojoToJson " + name + ": " + summary);
+        if (!PojoToJsonSettings.getInstance().isShowDetails()) {
+            return;
+        }
+        Notification notification = notificationGroup.createNotification("Conversion details", summary, NotificationType.INFORMATION, null);
+        notification.addAction(new AnAction("Save Report...") {
+            @Override
+            public void actionPerformed(AnActionEvent e) {
+                save(project, notificationGroup, stats, name);
+            }
+        });
+        Notifications.Bus.notify(notification, project);
+    }
+
+    private static void save(Project project, NotificationGroup notificationGroup, ConversionStats stats, String name) {
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("Save Conversion Report", "Timings and counters as JSON", "json");
+        VirtualFileWrapper target = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project)
+                .save(null, name + ".report.json");
+        if (target == null) {
+            return;
+        }
+        try {
+            FileSink.write(target.getFile().toPath(), writer -> {
+                JsonWriter out = JsonOptions.PRETTY.newWriter(writer);
+                stats.writeReport(out);
+                out.flush();
+            });
+        } catch (IOException e) {
+            Notifications.Bus.notify(notificationGroup.createNotification("Save report failed: " + e.getMessage(), NotificationType.ERROR), project);
+        }
+    }
+}
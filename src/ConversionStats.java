@@ -0,0 +1,348 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.FilterOutputStream;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * @description: 一次生成(单个类或批量)的各阶段耗时和计数, 多线程共用. 与 PSI 无关
+ * @date: 2026/10/18
+ */
+public final class ConversionStats {
+
+    public enum Phase {
+        RESOLVE("PSI resolution"),
+        REMARKS("Doc comments"),
+        EMIT("Serialization");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private static final int SLOWEST = 5;
+
+    private final long start = System.nanoTime();
+
+    private final LongAdder[] phaseNanos = new LongAdder[Phase.values().length];
+
+    private final LongAdder classes = new LongAdder();
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private final LongAdder outputBytes = new LongAdder();
+
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    private final Queue<RootStats> roots = new ConcurrentLinkedQueue<>();
+
+    private volatile long elapsedNanos = -1;
+
+    public ConversionStats() {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = new LongAdder();
+        }
+    }
+
+    public void addTime(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()].add(nanos);
+    }
+
+    /**
+     * 建模时展开了一个类
+     */
+    public void visited(int depth) {
+        classes.increment();
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    public void cacheHit() {
+        cacheHits.increment();
+    }
+
+    public void cacheMiss() {
+        cacheMisses.increment();
+    }
+
+    /**
+     * 一个根类建模和写出完成.
+     * @param key 根类的 key.
+     * @param classCount 模型中类的个数.
+     * @param nanos 建模和写出的耗时.
+     * @param bytes 该类写出的 UTF-8 字节数.
+     */
+    public void root(String key, int classCount, long nanos, long bytes) {
+        roots.add(new RootStats(key, classCount, nanos, bytes));
+    }
+
+    /**
+     * 写出的全部字节数, 包括合并文档中沿用上次结果的部分
+     */
+    public void addOutputBytes(long bytes) {
+        outputBytes.add(bytes);
+    }
+
+    /**
+     * 写出一个根类, 计入 EMIT 耗时和字节数. JsonWriter 不缓冲, 不需要 flush 就能从 counter 得到字节数.
+     * @param modelNanos 该类建模的耗时, 与写出耗时一起计入根类.
+     * @return 写出的字节数.
+     */
+    public long emit(String key, TypeModel model, long modelNanos, JsonEmitter emitter, JsonWriter out,
+                     CountingWriter counter, List<String> warnings) throws IOException {
+        return emit(key, model, modelNanos, emitter, out, counter::getBytes, warnings);
+    }
+
+    /**
+     * @param position 当前已写出的字节数, 写出前后各取一次.
+     */
+    public long emit(String key, TypeModel model, long modelNanos, JsonEmitter emitter, JsonWriter out,
+                     LongSupplier position, List<String> warnings) throws IOException {
+        long start = System.nanoTime();
+        long before = position.getAsLong();
+        emitter.write(model, out, warnings);
+        long nanos = System.nanoTime() - start;
+        long bytes = position.getAsLong() - before;
+        addTime(Phase.EMIT, nanos);
+        root(key, model.getClasses().size(), modelNanos + nanos, bytes);
+        return bytes;
+    }
+
+    /**
+     * 全部完成时调用, 之后的总耗时不再变化
+     */
+    public void finish() {
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()].sum();
+    }
+
+    public long getElapsedNanos() {
+        long elapsed = elapsedNanos;
+        return elapsed < 0 ? System.nanoTime() - start : elapsed;
+    }
+
+    public long getClasses() {
+        return classes.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public long getOutputBytes() {
+        return outputBytes.sum();
+    }
+
+    /**
+     * 耗时最长的几个根类在前
+     */
+    public List<RootStats> getRoots() {
+        List<RootStats> result = new ArrayList<>(roots);
+        result.sort((a, b) -> Long.compare(b.nanos, a.nanos));
+        return result;
+    }
+
+    /**
+     * 用于日志和通知的一段文字
+     */
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Total ").append(millis(getElapsedNanos())).append(" ms");
+        for (Phase phase : Phase.values()) {
+            builder.append(", ").append(phase.getDisplayName()).append(' ').append(millis(getPhaseNanos(phase))).append(" ms");
+        }
+        builder.append("; ").append(getClasses()).append(" classes visited, max depth ").append(getMaxDepth())
+                .append(", cache ").append(getCacheHits()).append(" hits / ").append(getCacheMisses()).append(" misses, ")
+                .append(getOutputBytes()).append(" bytes written");
+        List<RootStats> slowest = getRoots();
+        if (slowest.size() > 1) {
+            builder.append("; slowest:");
+            for (int i = 0; i < Math.min(SLOWEST, slowest.size()); i++) {
+                RootStats root = slowest.get(i);
+                builder.append(i == 0 ? " " : ", ").append(root.key).append(' ').append(millis(root.nanos)).append(" ms");
+            }
+        }
+        return builder.toString();
+    }
+
+    public void writeReport(JsonWriter out) throws IOException {
+        out.beginObject();
+        out.name("elapsedMillis").value(millis(getElapsedNanos()));
+        out.name("phases").beginObject();
+        for (Phase phase : Phase.values()) {
+            out.name(phase.name().toLowerCase(Locale.ROOT)).value(millis(getPhaseNanos(phase)));
+        }
+        out.endObject();
+        out.name("classesVisited").value(getClasses());
+        out.name("maxDepth").value(getMaxDepth());
+        out.name("cacheHits").value(getCacheHits());
+        out.name("cacheMisses").value(getCacheMisses());
+        out.name("outputBytes").value(getOutputBytes());
+        out.name("roots").beginArray();
+        for (RootStats root : getRoots()) {
+            out.beginObject();
+            out.name("class").value(root.key);
+            out.name("classes").value(root.classCount);
+            out.name("millis").value(millis(root.nanos));
+            out.name("bytes").value(root.bytes);
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public static final class RootStats {
+        private final String key;
+        private final int classCount;
+        private final long nanos;
+        private final long bytes;
+
+        RootStats(String key, int classCount, long nanos, long bytes) {
+            this.key = key;
+            this.classCount = classCount;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public int getClassCount() {
+            return classCount;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * 写到 counter 上的 writer 的当前位置. 文本先 flush 出 OutputStreamWriter 中缓冲的字节,
+     * 二进制加上还在缓冲区中的顶层值, 其中未写出的容器头不计入
+     */
+    public static LongSupplier position(JsonWriter out, CountingOutputStream counter) {
+        return () -> {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            long pending = out instanceof BinaryJsonWriter ? ((BinaryJsonWriter) out).getPending() : 0;
+            return counter.getBytes() + pending;
+        };
+    }
+
+    public static final class CountingOutputStream extends FilterOutputStream {
+
+        private long bytes;
+
+        public CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            bytes += length;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * 统计按 UTF-8 编码后的字节数, 不实际编码
+     */
+    public static final class CountingWriter extends FilterWriter {
+
+        private long bytes;
+
+        public CountingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            bytes += utf8Length((char) c);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            for (int i = offset; i < offset + length; i++) {
+                bytes += utf8Length(buffer[i]);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            out.write(text, offset, length);
+            for (int i = offset; i < offset + length; i++) {
+                bytes += utf8Length(text.charAt(i));
+            }
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * 代理对的两个 char 各算 2 字节, 合计 4 字节
+         */
+        private static int utf8Length(char c) {
+            if (c < 0x80) {
+                return 1;
+            }
+            if (c < 0x800 || Character.isSurrogate(c)) {
+                return 2;
+            }
+            return 3;
+        }
+    }
+}
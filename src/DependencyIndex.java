@@ -0,0 +1,108 @@
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: 批量生成的依赖索引, 记录每个根类建模时读过的全部文件及其指纹, 保存在输出目录中
+ * @date: 2026/10/18
+ */
+public class DependencyIndex {
+
+    public static final String FILE_NAME = ".pojotojson-index.json";
+
+    /**
+     * 生成规则变化时加一, 旧索引整体作废
+     */
+    private static final int VERSION = 2;
+
+    private static final Type ROOTS_TYPE = new TypeToken<Map<String, Map<String, String>>>() {
+    }.getType();
+
+    private final String layout;
+
+    private final Map<String, Map<String, String>> roots = new ConcurrentHashMap<>();
+
+    public DependencyIndex(String layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * 读取输出目录中的索引, 不存在、损坏或输出方式不同时返回空索引.
+     */
+    public static DependencyIndex load(File outputDir, String layout) {
+        DependencyIndex index = new DependencyIndex(layout);
+        Path path = new File(outputDir, FILE_NAME).toPath();
+        if (!Files.isRegularFile(path)) {
+            return index;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Stored stored = new Gson().fromJson(reader, Stored.class);
+            if (stored != null && stored.version == VERSION && layout.equals(stored.layout) && stored.roots != null) {
+                index.roots.putAll(stored.roots);
+            }
+        } catch (IOException | JsonParseException e) {
+            // 当作没有索引, 全部重新生成
+        }
+        return index;
+    }
+
+    /**
+     * 先写临时文件再替换, 中途取消不会留下半个索引.
+     */
+    public void save(File outputDir) throws IOException {
+        Path path = new File(outputDir, FILE_NAME).toPath();
+        Path temp = new File(outputDir, FILE_NAME + ".tmp").toPath();
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            JsonWriter out = JsonOptions.COMPACT.newWriter(writer);
+            out.beginObject();
+            out.name("version").value(VERSION);
+            out.name("layout").value(layout);
+            out.name("roots");
+            new Gson().toJson(new TreeMap<>(roots), ROOTS_TYPE, out);
+            out.endObject();
+            out.flush();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 根类上次建模时读过的文件 url -> 指纹, 没有记录时返回 null
+     */
+    public Map<String, String> get(String root) {
+        return roots.get(root);
+    }
+
+    public void put(String root, Map<String, String> fingerprints) {
+        roots.put(root, fingerprints);
+    }
+
+    /**
+     * 只保留本次生成的根类, 删除或改名的类不再留在索引中.
+     * 同一个输出目录先后生成不同的包时, 另一个包的类下次会重新生成
+     */
+    public void retain(Collection<String> collected) {
+        roots.keySet().retainAll(new HashSet<>(collected));
+    }
+
+    private static final class Stored {
+        int version;
+        String layout;
+        Map<String, Map<String, String>> roots;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * @description: 字段注释的清理, 与 PSI 无关
+ * @date: 2026/10/18
+ */
+public final class DocRemarks {
+
+    private static final String DESCRIPTION_TAG = "description";
+
+    private DocRemarks() {
+    }
+
+    /**
+     * 一次扫描注释原文得到说明. 每行去掉开头的 * 和首尾空白, 行内连续空白合并为一个空格, 各行用逗号连接.
+     * 有 @description(可带冒号) 时取它的内容, 否则取第一个标签之前的正文, 其它标签忽略. {&#64;link Foo} 这类行内标签只保留 Foo.
+     * @param docText 注释原文, 包含 /** 和 *&#47;.
+     * @return String.
+     */
+    public static String clean(String docText) {
+        int end = docText.length();
+        if (end >= 2 && docText.startsWith("*/", end - 2)) {
+            end -= 2;
+        }
+        int i = docText.startsWith("/**") ? 3 : docText.startsWith("/*") ? 2 : 0;
+        StringBuilder body = new StringBuilder(end - i);
+        StringBuilder description = null;
+        StringBuilder current = body;
+        boolean inlineTag = false;
+        while (i < end) {
+            // 行首: 空白和 *
+            while (i < end && isBlank(docText.charAt(i))) {
+                i++;
+            }
+            while (i < end && docText.charAt(i) == '*') {
+                i++;
+            }
+            while (i < end && isBlank(docText.charAt(i))) {
+                i++;
+            }
+            if (i < end && docText.charAt(i) == '@') {
+                int nameStart = i + 1;
+                while (i < end && !isBlank(docText.charAt(i)) && docText.charAt(i) != '\n' && docText.charAt(i) != ':') {
+                    i++;
+                }
+                if (docText.regionMatches(nameStart, DESCRIPTION_TAG, 0, i - nameStart) && i - nameStart == DESCRIPTION_TAG.length()) {
+                    description = description == null ? new StringBuilder() : description;
+                    current = description;
+                } else {
+                    current = null;
+                }
+                while (i < end && (isBlank(docText.charAt(i)) || docText.charAt(i) == ':')) {
+                    i++;
+                }
+            }
+            // 行内容
+            int lineStart = current == null ? 0 : current.length();
+            boolean pendingSpace = false;
+            while (i < end) {
+                char c = docText.charAt(i++);
+                if (c == '\n') {
+                    break;
+                }
+                if (current == null || c == '\r') {
+                    continue;
+                }
+                if (isBlank(c)) {
+                    pendingSpace = current.length() > lineStart;
+                    continue;
+                }
+                if (c == '{' && i < end && docText.charAt(i) == '@') {
+                    // 跳过 {@link 这样的标签名
+                    while (i < end && !isBlank(docText.charAt(i)) && docText.charAt(i) != '}' && docText.charAt(i) != '\n') {
+                        i++;
+                    }
+                    inlineTag = true;
+                    continue;
+                }
+                if (c == '}' && inlineTag) {
+                    inlineTag = false;
+                    continue;
+                }
+                if (pendingSpace) {
+                    current.append(' ');
+                    pendingSpace = false;
+                }
+                if (current.length() > 0 && current.length() == lineStart) {
+                    current.append(',');
+                    lineStart++;
+                }
+                current.append(c);
+            }
+        }
+        return description != null && description.length() > 0 ? description.toString() : body.toString();
+    }
+
+    /**
+     * 去除字符串首尾出现的某个字符.
+     * @param source 源字符串.
+     * @param element 需要去除的字符.
+     * @return String.
+     */
+    public static String trimFirstAndLastChar(String source, char element) {
+        if (source == null || source.isEmpty()) {
+            return source;
+        }
+        int beginIndex = 0;
+        int endIndex = source.length();
+        while (beginIndex < endIndex && source.charAt(beginIndex) == element) {
+            beginIndex++;
+        }
+        while (endIndex > beginIndex && source.charAt(endIndex - 1) == element) {
+            endIndex--;
+        }
+        return source.substring(beginIndex, endIndex);
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
@@ -0,0 +1,41 @@
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.LightVirtualFile;
+
+/**
+ * @description: 在编辑器标签页中打开, 不写磁盘. 同名标签页已打开时替换其内容
+ * @date: 2026/10/18
+ */
+public class EditorTabSink extends TextOutputSink {
+
+    @Override
+    public String deliver(Project project) {
+        String fileName = name + ".json";
+        FileEditorManager editorManager = FileEditorManager.getInstance(project);
+        VirtualFile file = findOpen(editorManager, fileName);
+        if (file == null) {
+            file = new LightVirtualFile(fileName, FileTypeManager.getInstance().getFileTypeByFileName(fileName), text);
+        } else {
+            Document document = FileDocumentManager.getInstance().getDocument(file);
+            if (document != null) {
+                WriteCommandAction.runWriteCommandAction(project, () -> document.setText(text));
+            }
+        }
+        editorManager.openFile(file, true);
+        return "opened in editor";
+    }
+
+    private static VirtualFile findOpen(FileEditorManager editorManager, String fileName) {
+        for (VirtualFile file : editorManager.getOpenFiles()) {
+            if (file instanceof LightVirtualFile && fileName.equals(file.getName())) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.Objects;
+
+/**
+ * @description: 字段. 不可变, 按值比较, 父类的字段在各个子类中可以共用同一个实例
+ * @date: 2026/10/18
+ */
+public final class FieldModel {
+
+    private final String name;
+
+    private final TypeRef type;
+
+    private final String remark;
+
+    private final String jsonName;
+
+    private final boolean staticField;
+
+    private final boolean transientField;
+
+    private final boolean required;
+
+    private final int hash;
+
+    public FieldModel(String name, TypeRef type, String remark) {
+        this(name, type, remark, null, false, false, false);
+    }
+
+    public FieldModel(String name, TypeRef type, String remark, String jsonName,
+                      boolean staticField, boolean transientField, boolean required) {
+        this.name = name;
+        this.type = type;
+        this.remark = remark == null ? "" : remark;
+        this.jsonName = jsonName == null || jsonName.isEmpty() ? null : jsonName;
+        this.staticField = staticField;
+        this.transientField = transientField;
+        this.required = required;
+        this.hash = Objects.hash(name, type, this.remark, this.jsonName, staticField, transientField, required);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TypeRef getType() {
+        return type;
+    }
+
+    /**
+     * 字段注释, 没有时为空字符串
+     */
+    public String getRemark() {
+        return remark;
+    }
+
+    public boolean hasRemark() {
+        return !remark.isEmpty();
+    }
+
+    /**
+     * @JsonProperty/@SerializedName/@JSONField 中指定的名字, 没有时为 null
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public boolean isStatic() {
+        return staticField;
+    }
+
+    public boolean isTransient() {
+        return transientField;
+    }
+
+    /**
+     * 有 @NotNull/@NotBlank 校验注解
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FieldModel)) {
+            return false;
+        }
+        FieldModel other = (FieldModel) o;
+        return hash == other.hash && staticField == other.staticField
+                && transientField == other.transientField && required == other.required && name.equals(other.name)
+                && type.equals(other.type) && remark.equals(other.remark) && Objects.equals(jsonName, other.jsonName);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
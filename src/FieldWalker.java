@@ -0,0 +1,210 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * @description: 显式栈按顺序遍历 TypeModel 并直接写出, 处理循环引用并限制深度和节点数
+ * @date: 2026/10/18
+ */
+public abstract class FieldWalker {
+
+    public static final int DEFAULT_MAX_DEPTH = Integer.getInteger("pojotojson.maxDepth", 32);
+
+    public static final int DEFAULT_MAX_NODES = Integer.getInteger("pojotojson.maxNodes", 5000);
+
+    protected final TypeModel model;
+
+    protected final JsonWriter out;
+
+    protected final GenerationProfile profile;
+
+    private final int maxDepth;
+
+    private final int maxNodes;
+
+    private final Deque<Frame> stack = new ArrayDeque<>();
+
+    /**
+     * stack 中对象的个数, 不含 {@link #resumeAfter} 放入的续写
+     */
+    private int depth;
+
+    private int nodes;
+
+    private boolean truncated;
+
+    protected FieldWalker(TypeModel model, JsonWriter out) {
+        this(model, out, GenerationProfile.DEFAULT);
+    }
+
+    protected FieldWalker(TypeModel model, JsonWriter out, GenerationProfile profile) {
+        this(model, out, profile, profile.getMaxDepth(), profile.getMaxNodes());
+    }
+
+    protected FieldWalker(TypeModel model, JsonWriter out, int maxDepth, int maxNodes) {
+        this(model, out, GenerationProfile.DEFAULT, maxDepth, maxNodes);
+    }
+
+    private FieldWalker(TypeModel model, JsonWriter out, GenerationProfile profile, int maxDepth, int maxNodes) {
+        this.model = model;
+        this.out = out;
+        this.profile = profile;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * 写出一个字段, 被设置排除的字段不会传进来. 嵌套类型通过 {@link #descend} 展开, 且 descend 必须是最后一次写操作,
+     * 之后需要关闭的数组/对象放在 closers 里, 还要继续写的内容(如 Map 中剩下的 entry)通过 {@link #resumeAfter} 放入.
+     */
+    protected abstract void writeField(FieldModel field) throws IOException;
+
+    /**
+     * 输出时的字段名
+     */
+    protected String nameOf(FieldModel field) {
+        return profile.nameOf(field);
+    }
+
+    /**
+     * 写出 root 对象, 结束后依次执行 closers.
+     */
+    public void walk(ClassModel root, String closers) throws IOException {
+        descend(root, closers);
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (frame.node == null) {
+                stack.pop();
+                frame.next.resume();
+            } else if (frame.index < frame.node.getFields().size()) {
+                FieldModel field = frame.node.getFields().get(frame.index++);
+                if (profile.includes(field)) {
+                    writeField(field);
+                }
+            } else if (--frame.remaining > 0) {
+                // 同一个类连续写多个对象, 如数组中的元素
+                out.endObject();
+                out.beginObject();
+                frame.index = 0;
+            } else {
+                stack.pop();
+                depth--;
+                out.endObject();
+                close(frame.closers);
+            }
+        }
+    }
+
+    /**
+     * 接下来写的值(及其中 descend 展开的对象)写完之后调用 next. 需要在写这个值之前调用, next 中可以再次 descend 或 resumeAfter.
+     */
+    protected void resumeAfter(Continuation next) {
+        stack.push(new Frame(next));
+    }
+
+    /**
+     * 开始写 node 的字段, 字段写完后执行 closers.
+     * 循环引用与超出深度或节点数一样写出空对象, 示例数据中不出现实际报文里没有的字段.
+     */
+    protected void descend(ClassModel node, String closers) throws IOException {
+        descend(node, closers, 1);
+    }
+
+    /**
+     * 连续写 times 个 node 对象, 都写完后执行 closers. times 为 0 时只执行 closers.
+     */
+    protected void descend(ClassModel node, String closers, int times) throws IOException {
+        if (times <= 0) {
+            close(closers);
+            return;
+        }
+        if (node == null || isBackReference(node)) {
+            for (int i = 0; i < times; i++) {
+                out.beginObject().endObject();
+            }
+            close(closers);
+            return;
+        }
+        if (depth > maxDepth || nodes >= maxNodes) {
+            truncated = true;
+            for (int i = 0; i < times; i++) {
+                out.beginObject().endObject();
+            }
+            close(closers);
+            return;
+        }
+        nodes++;
+        depth++;
+        out.beginObject();
+        stack.push(new Frame(node, closers, times));
+    }
+
+    protected void descend(TypeRef type, String closers) throws IOException {
+        descend(model.get(type.getClassKey()), closers);
+    }
+
+    /**
+     * node 是否正在当前路径上展开.
+     */
+    protected boolean isBackReference(ClassModel node) {
+        for (Frame frame : stack) {
+            if (frame.node != null && frame.node.getKey().equals(node.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * '}' 关闭对象, ']' 关闭数组.
+     */
+    protected void close(String closers) throws IOException {
+        for (int i = 0; i < closers.length(); i++) {
+            if (closers.charAt(i) == '}') {
+                out.endObject();
+            } else {
+                out.endArray();
+            }
+        }
+    }
+
+    /**
+     * 是否因为深度或节点数限制而截断过.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * 续写, 见 {@link #resumeAfter}
+     */
+    protected interface Continuation {
+        void resume() throws IOException;
+    }
+
+    /**
+     * 正在写的对象, 或者 node 为 null 时的续写
+     */
+    private static class Frame {
+        final ClassModel node;
+        final String closers;
+        final Continuation next;
+        int index;
+        int remaining;
+
+        Frame(ClassModel node, String closers, int remaining) {
+            this.node = node;
+            this.closers = closers;
+            this.next = null;
+            this.remaining = remaining;
+        }
+
+        Frame(Continuation next) {
+            this.node = null;
+            this.closers = "";
+            this.next = next;
+        }
+    }
+}
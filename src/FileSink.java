@@ -0,0 +1,108 @@
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @description: 写入目录下的 name.json. 边写临时文件边计算摘要, 与已有文件内容相同时不替换, 文件时间戳不变
+ * @date: 2026/10/18
+ */
+public class FileSink implements OutputSink {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File directory;
+
+    private File file;
+
+    private boolean changed;
+
+    public FileSink(File directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void prepare(String name, Content content) throws IOException {
+        file = new File(directory, name + ".json");
+        changed = write(file.toPath(), content);
+    }
+
+    @Override
+    public String deliver(Project project) {
+        if (!changed) {
+            return "unchanged " + file.getPath();
+        }
+        LocalFileSystem.getInstance().refreshIoFiles(Collections.singletonList(file));
+        return "written to " + file.getPath();
+    }
+
+    /**
+     * 线程安全, 可在批量生成中直接调用.
+     * @return 内容有变化并替换了文件时为 true.
+     */
+    public static boolean write(Path target, Content content) throws IOException {
+        return writeBytes(target, out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            content.writeTo(writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * 与 {@link #write(Path, Content)} 相同, 内容按字节写出.
+     */
+    public static boolean writeBytes(Path target, BinaryContent content) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 OutputStream out = new BufferedOutputStream(
+                         new DigestOutputStream(Channels.newOutputStream(channel), digest), BUFFER_SIZE)) {
+                content.writeTo(out);
+            }
+            if (Files.isRegularFile(target) && Files.size(target) == Files.size(temp)
+                    && Arrays.equals(digest.digest(), digestOf(target))) {
+                return false;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] digestOf(Path path) throws IOException {
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
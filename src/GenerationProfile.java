@@ -0,0 +1,350 @@
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: 一次生成使用的设置, 由 PojoToJsonSettings 在设置变化时解析一次, 不可变且与 PSI 无关
+ * @date: 2026/10/18
+ */
+public final class GenerationProfile {
+
+    public enum NamingStrategy {
+        AS_IS, CAMEL_CASE, SNAKE_CASE
+    }
+
+    public enum OutputStyle {
+        PRETTY, COMPACT
+    }
+
+    public static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * 各类型的默认值, 值为 json 字面量. 日期类型不在其中, 按 dateFormat 取当前时间.
+     */
+    public static final Map<String, String> DEFAULT_VALUES;
+
+    static {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Boolean", "false");
+        values.put("Byte", "0");
+        values.put("Short", "0");
+        values.put("Integer", "0");
+        values.put("Long", "0");
+        values.put("Float", "0.0");
+        values.put("Double", "0.0");
+        values.put("Character", "\"0\"");
+        values.put("String", "\"String\"");
+        values.put("BigDecimal", "null");
+        values.put("BigInteger", "0");
+        values.put("UUID", "\"00000000-0000-0000-0000-000000000000\"");
+        DEFAULT_VALUES = Collections.unmodifiableMap(values);
+    }
+
+    public static final GenerationProfile DEFAULT = new Builder().build();
+
+    private final Map<String, Object> defaultValues;
+
+    private final String dateFormat;
+
+    private final DateTimeFormatter dateFormatter;
+
+    private final boolean includeStatic;
+
+    private final boolean includeTransient;
+
+    private final NamingStrategy namingStrategy;
+
+    private final boolean useAnnotationNames;
+
+    private final int maxDepth;
+
+    private final int maxNodes;
+
+    private final OutputStyle outputStyle;
+
+    private final boolean serializeNulls;
+
+    private final boolean sharedDefinitions;
+
+    private final JsonOptions jsonOptions;
+
+    /**
+     * 按标量输出的类型: 有默认值的类型和日期类型
+     */
+    private final Set<String> normalTypes;
+
+    /**
+     * 字段名 -> 按 namingStrategy 转换后的名字
+     */
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    private GenerationProfile(Builder builder) {
+        this.defaultValues = Collections.unmodifiableMap(parseValues(builder.defaultValues));
+        this.dateFormat = builder.dateFormat;
+        this.dateFormatter = DateTimeFormatter.ofPattern(builder.dateFormat);
+        this.includeStatic = builder.includeStatic;
+        this.includeTransient = builder.includeTransient;
+        this.namingStrategy = builder.namingStrategy;
+        this.useAnnotationNames = builder.useAnnotationNames;
+        this.maxDepth = builder.maxDepth;
+        this.maxNodes = builder.maxNodes;
+        this.outputStyle = builder.outputStyle;
+        this.serializeNulls = builder.serializeNulls;
+        this.sharedDefinitions = builder.sharedDefinitions;
+        JsonOptions options = outputStyle == OutputStyle.COMPACT ? JsonOptions.COMPACT : JsonOptions.PRETTY;
+        this.jsonOptions = options.withSerializeNulls(serializeNulls);
+        this.normalTypes = normalTypes(sampleValues().keySet());
+    }
+
+    /**
+     * 示例值, 日期类型按当前时间生成, 每次生成调用一次.
+     */
+    public Map<String, Object> sampleValues() {
+        Map<String, Object> values = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        String dateTime = dateFormatter.format(now);
+        values.put("Date", dateTime);
+        values.put("Instant", dateTime);
+        values.put("LocalDateTime", dateTime);
+        values.put("LocalDate", DateTimeFormatter.ISO_LOCAL_DATE.format(now.toLocalDate()));
+        values.put("LocalTime", DateTimeFormatter.ofPattern("HH:mm:ss").format(now.toLocalTime()));
+        values.putAll(defaultValues);
+        return values;
+    }
+
+    public boolean includes(FieldModel field) {
+        return includes(field.isStatic(), field.isTransient());
+    }
+
+    /**
+     * 建模时在解析字段类型之前判断, 被排除的字段不会展开
+     */
+    public boolean includes(boolean staticField, boolean transientField) {
+        return (includeStatic || !staticField) && (includeTransient || !transientField);
+    }
+
+    /**
+     * 影响建模结果的设置, 作为 SchemaCache key 的一部分
+     */
+    public String getFieldFilter() {
+        return (includeStatic ? "+static" : "") + (includeTransient ? "+transient" : "");
+    }
+
+    /**
+     * 按标量输出的类型, 与内置类型同名的是全限定名, 其余是默认值中用户添加的简单类名. 分类时两种名字都要判断
+     */
+    public Set<String> getNormalTypes() {
+        return normalTypes;
+    }
+
+    /**
+     * 影响建模结果的全部设置: 排除的字段, 哪些类型按标量处理
+     */
+    public String getModelSignature() {
+        return getFieldFilter() + "|" + new TreeSet<>(normalTypes);
+    }
+
+    /**
+     * 输出时的字段名, 注解中指定的名字优先
+     */
+    public String nameOf(FieldModel field) {
+        if (useAnnotationNames && field.getJsonName() != null) {
+            return field.getJsonName();
+        }
+        if (namingStrategy == NamingStrategy.AS_IS) {
+            return field.getName();
+        }
+        return names.computeIfAbsent(field.getName(), this::convert);
+    }
+
+    /**
+     * 日期类型的格式
+     */
+    public DateTimeFormatter getDateFormatter() {
+        return dateFormatter;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    public JsonOptions getJsonOptions() {
+        return jsonOptions;
+    }
+
+    /**
+     * yapi schema 中每个类只在 definitions 中写一次, 其余位置用 $ref 引用
+     */
+    public boolean isSharedDefinitions() {
+        return sharedDefinitions;
+    }
+
+    /**
+     * 影响输出内容的全部设置, 设置变化后批量生成的结果需要重新生成
+     */
+    public String getSignature() {
+        return new TreeMap<>(defaultValues) + "|" + dateFormat + "|" + includeStatic + "|" + includeTransient + "|"
+                + namingStrategy + "|" + useAnnotationNames + "|" + maxDepth + "|" + maxNodes + "|" + outputStyle + "|" + serializeNulls
+                + "|" + sharedDefinitions;
+    }
+
+    private String convert(String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 4);
+        boolean upperNext = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (namingStrategy == NamingStrategy.SNAKE_CASE) {
+                if (Character.isUpperCase(c)) {
+                    if (builder.length() > 0 && builder.charAt(builder.length() - 1) != '_') {
+                        builder.append('_');
+                    }
+                    builder.append(Character.toLowerCase(c));
+                } else {
+                    builder.append(c);
+                }
+            } else if (c == '_' || c == '-') {
+                upperNext = builder.length() > 0;
+            } else {
+                builder.append(upperNext ? Character.toUpperCase(c) : c);
+                upperNext = false;
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 内置类型换成全限定名, 这样另一个包中的同名类(如 com.foo.Date)仍按对象展开
+     */
+    private static Set<String> normalTypes(Set<String> names) {
+        Map<String, String> builtIn = new HashMap<>();
+        for (String qualifiedName : TypeRef.NORMAL_TYPES) {
+            builtIn.put(qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1), qualifiedName);
+        }
+        Set<String> types = new HashSet<>();
+        for (String name : names) {
+            types.add(builtIn.getOrDefault(name, name));
+        }
+        return Collections.unmodifiableSet(types);
+    }
+
+    /**
+     * 不是合法 json 字面量的按字符串处理
+     */
+    private static Map<String, Object> parseValues(Map<String, String> literals) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, String> entry : literals.entrySet()) {
+            values.put(entry.getKey(), parseValue(entry.getValue()));
+        }
+        return values;
+    }
+
+    private static Object parseValue(String literal) {
+        if (literal == null) {
+            return null;
+        }
+        try {
+            JsonElement element = new JsonParser().parse(literal);
+            if (element.isJsonNull()) {
+                return null;
+            }
+            if (element.isJsonPrimitive()) {
+                JsonPrimitive primitive = element.getAsJsonPrimitive();
+                if (primitive.isBoolean()) {
+                    return primitive.getAsBoolean();
+                }
+                return primitive.isNumber() ? primitive.getAsNumber() : primitive.getAsString();
+            }
+        } catch (JsonParseException e) {
+            // 按字符串处理
+        }
+        return literal;
+    }
+
+    public static final class Builder {
+        private Map<String, String> defaultValues = DEFAULT_VALUES;
+        private String dateFormat = DEFAULT_DATE_FORMAT;
+        private boolean includeStatic;
+        private boolean includeTransient;
+        private NamingStrategy namingStrategy = NamingStrategy.AS_IS;
+        private boolean useAnnotationNames = true;
+        private int maxDepth = FieldWalker.DEFAULT_MAX_DEPTH;
+        private int maxNodes = FieldWalker.DEFAULT_MAX_NODES;
+        private OutputStyle outputStyle = OutputStyle.PRETTY;
+        private boolean serializeNulls;
+        private boolean sharedDefinitions;
+
+        public Builder defaultValues(Map<String, String> defaultValues) {
+            this.defaultValues = new LinkedHashMap<>(defaultValues);
+            return this;
+        }
+
+        /**
+         * DateTimeFormatter 的格式, 不合法时 build 抛出 IllegalArgumentException
+         */
+        public Builder dateFormat(String dateFormat) {
+            this.dateFormat = dateFormat;
+            return this;
+        }
+
+        public Builder includeStatic(boolean includeStatic) {
+            this.includeStatic = includeStatic;
+            return this;
+        }
+
+        public Builder includeTransient(boolean includeTransient) {
+            this.includeTransient = includeTransient;
+            return this;
+        }
+
+        public Builder namingStrategy(NamingStrategy namingStrategy) {
+            this.namingStrategy = namingStrategy;
+            return this;
+        }
+
+        public Builder useAnnotationNames(boolean useAnnotationNames) {
+            this.useAnnotationNames = useAnnotationNames;
+            return this;
+        }
+
+        public Builder maxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        public Builder maxNodes(int maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        public Builder outputStyle(OutputStyle outputStyle) {
+            this.outputStyle = outputStyle;
+            return this;
+        }
+
+        public Builder serializeNulls(boolean serializeNulls) {
+            this.serializeNulls = serializeNulls;
+            return this;
+        }
+
+        public Builder sharedDefinitions(boolean sharedDefinitions) {
+            this.sharedDefinitions = sharedDefinitions;
+            return this;
+        }
+
+        public GenerationProfile build() {
+            return new GenerationProfile(this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * @description: 影响 json 输出的注解, PSI 与反射两种建模共用
+ * @date: 2026/10/18
+ */
+public final class JsonAnnotations {
+
+    /**
+     * value 为输出字段名的注解
+     */
+    public static final String[] NAME = {
+            "com.fasterxml.jackson.annotation.JsonProperty",
+            "com.google.gson.annotations.SerializedName"
+    };
+
+    /**
+     * 字段不参与序列化的注解, value 为 false 的 @JsonIgnore 除外
+     */
+    public static final String[] IGNORE = {
+            "com.fasterxml.jackson.annotation.JsonIgnore",
+            "javax.persistence.Transient",
+            "jakarta.persistence.Transient",
+            "org.springframework.data.annotation.Transient"
+    };
+
+    /**
+     * fastjson 的字段注解, name 为输出字段名, serialize = false 时不参与序列化
+     */
+    public static final String[] JSON_FIELD = {
+            "com.alibaba.fastjson.annotation.JSONField",
+            "com.alibaba.fastjson2.annotation.JSONField"
+    };
+
+    /**
+     * yapi 中列入 required 的校验注解
+     */
+    public static final String[] REQUIRED = {
+            "javax.validation.constraints.NotNull",
+            "javax.validation.constraints.NotBlank",
+            "jakarta.validation.constraints.NotNull",
+            "jakarta.validation.constraints.NotBlank"
+    };
+
+    private JsonAnnotations() {
+    }
+}
@@ -0,0 +1,51 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * @description: 由 TypeModel 生成输出, 不依赖 PSI
+ * @date: 2026/10/18
+ */
+public interface JsonEmitter {
+
+    String TRUNCATED = "Model too deep or too large, nested types were truncated.";
+
+    /**
+     * 边遍历边写出, 不生成中间的 KV.
+     * @param model 类型模型.
+     * @param out 输出.
+     * @param warnings 需要提示给用户的信息.
+     */
+    void write(TypeModel model, JsonWriter out, List<String> warnings) throws IOException;
+
+    /**
+     * 兼容需要 KV 的调用方.
+     */
+    default KV emit(TypeModel model, List<String> warnings) {
+        KVWriter writer = new KVWriter();
+        try {
+            write(model, writer, warnings);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return (KV) writer.get();
+    }
+
+    default String toPrettyJson(TypeModel model, List<String> warnings) {
+        return toJson(model, JsonOptions.PRETTY, warnings);
+    }
+
+    default String toJson(TypeModel model, JsonOptions options, List<String> warnings) {
+        StringWriter buffer = new StringWriter();
+        try {
+            JsonWriter out = options.newWriter(buffer);
+            write(model, out, warnings);
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return buffer.toString();
+    }
+}
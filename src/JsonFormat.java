@@ -0,0 +1,43 @@
+import java.util.function.Function;
+
+/**
+ * @description: 三种输出格式
+ * @date: 2026/10/18
+ */
+public enum JsonFormat {
+
+    SAMPLE("BuildJson", SampleJsonEmitter::new),
+
+    TYPED("BuildJsonWithType", TypedJsonEmitter::new),
+
+    YAPI("BuildJsonForYapi", YapiSchemaEmitter::new);
+
+    private final String displayName;
+
+    private final Function<GenerationProfile, JsonEmitter> factory;
+
+    JsonFormat(String displayName, Function<GenerationProfile, JsonEmitter> factory) {
+        this.displayName = displayName;
+        this.factory = factory;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 每次生成新建一个, 示例中的日期取创建时的时间. 创建后不可变, 可以在多个线程中共用
+     */
+    public JsonEmitter newEmitter(GenerationProfile profile) {
+        return factory.apply(profile);
+    }
+
+    public static String[] displayNames() {
+        JsonFormat[] formats = values();
+        String[] names = new String[formats.length];
+        for (int i = 0; i < formats.length; i++) {
+            names[i] = formats[i].displayName;
+        }
+        return names;
+    }
+}
@@ -0,0 +1,68 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.Writer;
+
+/**
+ * @description: 输出格式: 缩进, 是否输出 null, 是否转义 html 字符
+ * @date: 2026/10/18
+ */
+public final class JsonOptions {
+
+    /**
+     * 与 new GsonBuilder().setPrettyPrinting().create() 一致
+     */
+    public static final JsonOptions PRETTY = new JsonOptions("  ", false, true);
+
+    /**
+     * 与 new Gson() 一致
+     */
+    public static final JsonOptions COMPACT = new JsonOptions("", false, true);
+
+    private final String indent;
+
+    private final boolean serializeNulls;
+
+    private final boolean htmlSafe;
+
+    public JsonOptions(String indent, boolean serializeNulls, boolean htmlSafe) {
+        this.indent = indent == null ? "" : indent;
+        this.serializeNulls = serializeNulls;
+        this.htmlSafe = htmlSafe;
+    }
+
+    public String getIndent() {
+        return indent;
+    }
+
+    public boolean isPretty() {
+        return !indent.isEmpty();
+    }
+
+    public boolean isSerializeNulls() {
+        return serializeNulls;
+    }
+
+    public boolean isHtmlSafe() {
+        return htmlSafe;
+    }
+
+    public JsonOptions withIndent(String indent) {
+        return new JsonOptions(indent, serializeNulls, htmlSafe);
+    }
+
+    public JsonOptions withSerializeNulls(boolean serializeNulls) {
+        return new JsonOptions(indent, serializeNulls, htmlSafe);
+    }
+
+    public JsonOptions withHtmlSafe(boolean htmlSafe) {
+        return new JsonOptions(indent, serializeNulls, htmlSafe);
+    }
+
+    public JsonWriter newWriter(Writer writer) {
+        JsonWriter out = new JsonWriter(writer);
+        out.setIndent(indent);
+        out.setSerializeNulls(serializeNulls);
+        out.setHtmlSafe(htmlSafe);
+        return out;
+    }
+}
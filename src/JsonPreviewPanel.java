@@ -0,0 +1,239 @@
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.CaretAdapter;
+import com.intellij.openapi.editor.event.CaretEvent;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.FileEditorManagerAdapter;
+import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
+import com.intellij.openapi.fileEditor.FileEditorManagerListener;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.util.ProgressIndicatorBase;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.util.Alarm;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description: 预览光标所在类的输出, 编辑时随之更新. 改动后等停顿 DELAY_MILLIS 再计算, 新的改动取消还在进行的计算;
+ * 计算在后台读操作中进行, 有写操作(输入)等待时让出读锁, 之后重新计算; 索引期间不计算, 索引完成后再算. 没有改动的类从 SchemaCache 中取, 只重新解析改动过的类
+ * @date: 2026/10/18
+ */
+public class JsonPreviewPanel extends JPanel implements Disposable {
+
+    private static final int DELAY_MILLIS = 300;
+
+    private final Project project;
+
+    private final JComboBox<String> format = new JComboBox<>(JsonFormat.displayNames());
+
+    private final JLabel status = new JLabel(" ");
+
+    private final JTextArea text = new JTextArea();
+
+    private final Alarm alarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+
+    /**
+     * 只在 EDT 读写, 新的请求到来时取消
+     */
+    private ProgressIndicator current;
+
+    /**
+     * 只在 EDT 读写, 已经通过 runWhenSmart 安排了索引完成后的计算
+     */
+    private boolean waitingForIndex;
+
+    private volatile boolean disposed;
+
+    public JsonPreviewPanel(Project project) {
+        super(new BorderLayout());
+        this.project = project;
+        text.setEditable(false);
+        text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, text.getFont().getSize()));
+        status.setBorder(JBUI.Borders.empty(2, 4));
+        JPanel top = new JPanel(new BorderLayout());
+        top.add(format, BorderLayout.WEST);
+        top.add(status, BorderLayout.CENTER);
+        add(top, BorderLayout.NORTH);
+        add(new JBScrollPane(text), BorderLayout.CENTER);
+
+        format.addActionListener(e -> schedule(0));
+        // 工具窗口隐藏时不计算, 再次显示时补上
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing()) {
+                schedule(0);
+            }
+        });
+        EditorFactory.getInstance().getEventMulticaster().addCaretListener(new CaretAdapter() {
+            @Override
+            public void caretPositionChanged(CaretEvent e) {
+                if (e.getEditor().getProject() == project) {
+                    schedule(DELAY_MILLIS);
+                }
+            }
+        }, this);
+        project.getMessageBus().connect(this).subscribe(FileEditorManagerListener.FILE_EDITOR_MANAGER, new FileEditorManagerAdapter() {
+            @Override
+            public void selectionChanged(@NotNull FileEditorManagerEvent event) {
+                schedule(0);
+            }
+        });
+        // 文档提交到 PSI 之后才触发, 此时 PSI 已经是最新的
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                schedule(DELAY_MILLIS);
+            }
+
+            @Override
+            public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+                schedule(DELAY_MILLIS);
+            }
+        }, this);
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    /**
+     * 在 EDT 调用. 光标位置在这里取, 后台只读 PSI
+     */
+    private void schedule(int delay) {
+        if (disposed || !isShowing()) {
+            return;
+        }
+        alarm.cancelAllRequests();
+        if (current != null) {
+            current.cancel();
+        }
+        if (DumbService.isDumb(project)) {
+            show(null, "Indexing...", "");
+            if (!waitingForIndex) {
+                waitingForIndex = true;
+                DumbService.getInstance(project).runWhenSmart(() -> {
+                    waitingForIndex = false;
+                    schedule(0);
+                });
+            }
+            return;
+        }
+        Editor editor = FileEditorManager.getInstance(project).getSelectedTextEditor();
+        if (editor == null) {
+            show(null, "No editor", "");
+            return;
+        }
+        Document document = editor.getDocument();
+        int offset = editor.getCaretModel().getOffset();
+        JsonFormat selected = JsonFormat.values()[Math.max(0, format.getSelectedIndex())];
+        ProgressIndicator indicator = new ProgressIndicatorBase();
+        current = indicator;
+        alarm.addRequest(() -> compute(document, offset, selected, indicator), delay);
+    }
+
+    /**
+     * 在后台线程中调用
+     */
+    private void compute(Document document, int offset, JsonFormat selected, ProgressIndicator indicator) {
+        GenerationProfile profile = PojoToJsonSettings.getInstance().getProfile();
+        ConversionStats stats = new ConversionStats();
+        TypeModel[] model = new TypeModel[1];
+        String[] className = new String[1];
+        boolean[] uncommitted = new boolean[1];
+        boolean[] dumb = new boolean[1];
+        boolean completed;
+        try {
+            completed = ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(() -> {
+                if (DumbService.isDumb(project)) {
+                    dumb[0] = true;
+                    return;
+                }
+                PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+                // 没有提交的改动提交后会触发 PSI 事件, 届时再算
+                if (project.isDisposed() || !documentManager.isCommitted(document)) {
+                    uncommitted[0] = true;
+                    return;
+                }
+                PsiFile file = documentManager.getPsiFile(document);
+                PsiClass psiClass = file == null ? null : PsiTreeUtil.getParentOfType(file.findElementAt(offset), PsiClass.class, false);
+                if (psiClass == null || psiClass.getQualifiedName() == null) {
+                    return;
+                }
+                className[0] = psiClass.getName();
+                model[0] = new TypeModelBuilder(profile, stats).build(psiClass);
+            }, indicator);
+        } catch (ProcessCanceledException e) {
+            return;
+        } catch (IndexNotReadyException e) {
+            dumb[0] = true;
+            completed = true;
+        }
+        if (!completed || dumb[0]) {
+            // 读操作让给了写操作(indicator 已被取消), 或者开始了索引. 没有被新的请求取代的话重新安排, 换新的 indicator
+            ApplicationManager.getApplication().invokeLater(() -> {
+                if (indicator == current && !disposed) {
+                    schedule(dumb[0] ? 0 : DELAY_MILLIS);
+                }
+            });
+            return;
+        }
+        if (indicator.isCanceled() || uncommitted[0]) {
+            return;
+        }
+        if (model[0] == null) {
+            showLater(indicator, null, "No class at caret", "");
+            return;
+        }
+        // 模型与 PSI 无关, 在读操作之外生成
+        List<String> warnings = new ArrayList<>();
+        long start = System.nanoTime();
+        String json = selected.newEmitter(profile).toJson(model[0], profile.getJsonOptions().withIndent(JsonOptions.PRETTY.getIndent()), warnings);
+        long emitNanos = System.nanoTime() - start;
+        long modelNanos = stats.getPhaseNanos(ConversionStats.Phase.RESOLVE) + stats.getPhaseNanos(ConversionStats.Phase.REMARKS);
+        String summary = className[0] + ": " + model[0].getClasses().size() + " classes, " + stats.getCacheMisses() + " re-parsed, "
+                + TimeUnit.NANOSECONDS.toMillis(modelNanos) + " + " + TimeUnit.NANOSECONDS.toMillis(emitNanos) + " ms";
+        showLater(indicator, json, summary, warnings.isEmpty() ? "" : String.join("\n", warnings));
+    }
+
+    private void showLater(ProgressIndicator indicator, String json, String summary, String tooltip) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (!indicator.isCanceled() && indicator == current && !disposed) {
+                show(json, summary, tooltip);
+            }
+        });
+    }
+
+    /**
+     * json 为 null 时保留上次的内容
+     */
+    private void show(String json, String summary, String tooltip) {
+        status.setText(summary);
+        status.setToolTipText(tooltip.isEmpty() ? null : tooltip);
+        if (json != null && !json.equals(text.getText())) {
+            // 保留滚动位置
+            int caret = Math.min(text.getCaretPosition(), json.length());
+            text.setText(json);
+            text.setCaretPosition(caret);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * @description: 直接按值类型写出 KV, 不走 Gson 的反射和 Map 适配
+ * @date: 2026/10/18
+ */
+public final class JsonValueWriter {
+
+    /**
+     * 其它类型的值交给它序列化
+     */
+    private static final Gson FALLBACK = new Gson();
+
+    private JsonValueWriter() {
+    }
+
+    public static void writeValue(JsonWriter out, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else if (value instanceof String) {
+            out.value((String) value);
+        } else if (value instanceof Map) {
+            out.beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                out.name(String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+            out.endObject();
+        } else if (value instanceof Collection) {
+            out.beginArray();
+            for (Object item : (Collection<?>) value) {
+                writeValue(out, item);
+            }
+            out.endArray();
+        } else if (value instanceof Number) {
+            out.value((Number) value);
+        } else if (value instanceof Boolean) {
+            out.value((boolean) (Boolean) value);
+        } else if (value instanceof Character) {
+            out.value(String.valueOf(value));
+        } else if (value instanceof JsonElement) {
+            writeElement(out, (JsonElement) value);
+        } else if (value.getClass().isArray()) {
+            out.beginArray();
+            for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                writeValue(out, Array.get(value, i));
+            }
+            out.endArray();
+        } else {
+            writeElement(out, FALLBACK.toJsonTree(value));
+        }
+    }
+
+    /**
+     * 按 out 的配置写出 JsonElement, Gson.toJson(JsonElement, JsonWriter) 会临时改掉 out 的配置.
+     */
+    public static void writeElement(JsonWriter out, JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            out.nullValue();
+        } else if (element.isJsonObject()) {
+            out.beginObject();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                out.name(entry.getKey());
+                writeElement(out, entry.getValue());
+            }
+            out.endObject();
+        } else if (element.isJsonArray()) {
+            out.beginArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                writeElement(out, item);
+            }
+            out.endArray();
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isNumber()) {
+                out.value(primitive.getAsNumber());
+            } else if (primitive.isBoolean()) {
+                out.value(primitive.getAsBoolean());
+            } else {
+                out.value(primitive.getAsString());
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -97,11 +98,27 @@ public class KV<K, V> extends LinkedHashMap<K, V> {
     }
 
     public String toJson() {
-        return new Gson().toJson(this);
+        return toJson(JsonOptions.COMPACT);
     }
 
     public String toPrettyJson() {
-        return new GsonBuilder().setPrettyPrinting().create().toJson(this);
+        return toJson(JsonOptions.PRETTY);
+    }
+
+    public String toJson(JsonOptions options) {
+        StringWriter buffer = new StringWriter();
+        try {
+            JsonWriter out = options.newWriter(buffer);
+            write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return buffer.toString();
+    }
+
+    public void write(JsonWriter out) throws IOException {
+        JsonValueWriter.writeValue(out, this);
     }
 
     public boolean equals(Object KV) {
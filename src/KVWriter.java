@@ -0,0 +1,159 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * @description: 把 JsonWriter 的写操作还原成 KV/ArrayList, 兼容需要 KV 的调用方
+ * @date: 2026/10/18
+ */
+public class KVWriter extends JsonWriter {
+
+    private static final Writer UNWRITABLE_WRITER = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int counter) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void flush() {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final Deque<Object> stack = new ArrayDeque<>();
+
+    private String pendingName;
+
+    private Object result;
+
+    public KVWriter() {
+        super(UNWRITABLE_WRITER);
+    }
+
+    /**
+     * 写入的顶层值, 一般是 KV.
+     */
+    public Object get() {
+        if (!stack.isEmpty()) {
+            throw new IllegalStateException("Incomplete document");
+        }
+        return result;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        KV kv = KV.create();
+        add(kv);
+        stack.push(kv);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        if (!(stack.poll() instanceof KV)) {
+            throw new IllegalStateException("Nesting problem");
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        List<Object> list = new ArrayList<>();
+        add(list);
+        stack.push(list);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        if (!(stack.poll() instanceof List)) {
+            throw new IllegalStateException("Nesting problem");
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        if (pendingName != null || !(stack.peek() instanceof KV)) {
+            throw new IllegalStateException("Unexpected name " + name);
+        }
+        pendingName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        add(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        add(null);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        add(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Boolean value) throws IOException {
+        add(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        add(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        add(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Number value) throws IOException {
+        add(value);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(Object value) {
+        Object top = stack.peek();
+        if (top == null) {
+            result = value;
+        } else if (top instanceof KV) {
+            if (pendingName == null) {
+                throw new IllegalStateException("Missing name");
+            }
+            ((KV) top).set(pendingName, value);
+            pendingName = null;
+        } else {
+            ((List<Object>) top).add(value);
+        }
+    }
+}
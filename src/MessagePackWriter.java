@@ -0,0 +1,105 @@
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @description: MessagePack 编码. 整数取最短编码, 能无损转成 float 的小数按 float 32 写出
+ * @date: 2026/10/18
+ */
+public class MessagePackWriter extends BinaryJsonWriter {
+
+    public MessagePackWriter(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    protected void writeHeader(OutputStream out, boolean object, int count) throws IOException {
+        if (count < 16) {
+            out.write((object ? 0x80 : 0x90) | count);
+        } else if (count < 0x10000) {
+            out.write(object ? 0xde : 0xdc);
+            out.write(count >>> 8);
+            out.write(count);
+        } else {
+            out.write(object ? 0xdf : 0xdd);
+            out.write(count >>> 24);
+            out.write(count >>> 16);
+            out.write(count >>> 8);
+            out.write(count);
+        }
+    }
+
+    @Override
+    protected void encodeString(String value) {
+        int length = utf8Length(value);
+        if (length < 32) {
+            writeByte(0xa0 | length);
+        } else if (length < 0x100) {
+            writeByte(0xd9);
+            writeByte(length);
+        } else if (length < 0x10000) {
+            writeByte(0xda);
+            writeShort(length);
+        } else {
+            writeByte(0xdb);
+            writeInt(length);
+        }
+        writeUtf8(value, length);
+    }
+
+    @Override
+    protected void encodeNull() {
+        writeByte(0xc0);
+    }
+
+    @Override
+    protected void encodeBoolean(boolean value) {
+        writeByte(value ? 0xc3 : 0xc2);
+    }
+
+    @Override
+    protected void encodeLong(long value) {
+        if (value >= 0) {
+            if (value < 0x80) {
+                writeByte((int) value);
+            } else if (value < 0x100) {
+                writeByte(0xcc);
+                writeByte((int) value);
+            } else if (value < 0x10000) {
+                writeByte(0xcd);
+                writeShort((int) value);
+            } else if (value < 0x100000000L) {
+                writeByte(0xce);
+                writeInt((int) value);
+            } else {
+                writeByte(0xcf);
+                writeLong(value);
+            }
+        } else if (value >= -32) {
+            writeByte((int) value);
+        } else if (value >= Byte.MIN_VALUE) {
+            writeByte(0xd0);
+            writeByte((int) value);
+        } else if (value >= Short.MIN_VALUE) {
+            writeByte(0xd1);
+            writeShort((int) value);
+        } else if (value >= Integer.MIN_VALUE) {
+            writeByte(0xd2);
+            writeInt((int) value);
+        } else {
+            writeByte(0xd3);
+            writeLong(value);
+        }
+    }
+
+    @Override
+    protected void encodeDouble(double value) {
+        float single = (float) value;
+        if (single == value || Double.isNaN(value)) {
+            writeByte(0xca);
+            writeInt(Float.floatToIntBits(single));
+        } else {
+            writeByte(0xcb);
+            writeLong(Double.doubleToLongBits(value));
+        }
+    }
+}
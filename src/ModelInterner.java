@@ -0,0 +1,51 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @description: TypeRef/FieldModel 的 hash-consing. 相同的类型和字段(如父类的字段, 各处的 String/List&lt;Address&gt;)
+ * 只保留一个实例, 模型的内存随不同类型的个数增长. 线程安全, 超出容量时整体清空
+ * @date: 2026/10/18
+ */
+public final class ModelInterner {
+
+    private static final int MAX_ENTRIES = 16 * 1024;
+
+    private final ConcurrentMap<TypeRef, TypeRef> types = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<FieldModel, FieldModel> fields = new ConcurrentHashMap<>();
+
+    /**
+     * 先共用子类型, 再共用自身
+     */
+    public TypeRef intern(TypeRef type) {
+        if (type == null) {
+            return null;
+        }
+        TypeRef shared = type.withChildren(intern(type.getKey()), intern(type.getElement()));
+        return intern(types, shared);
+    }
+
+    /**
+     * 字段的类型需要已经 intern 过
+     */
+    public FieldModel intern(FieldModel field) {
+        return intern(fields, field);
+    }
+
+    public void clear() {
+        types.clear();
+        fields.clear();
+    }
+
+    private static <T> T intern(ConcurrentMap<T, T> map, T value) {
+        T existing = map.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (map.size() >= MAX_ENTRIES) {
+            map.clear();
+        }
+        existing = map.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+}
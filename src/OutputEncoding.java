@@ -0,0 +1,108 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @description: 同一个模型的几种编码: 缩进/压缩的 json, 每行一个文档的 JSON Lines, 以及 CBOR 和 MessagePack
+ * @date: 2026/10/18
+ */
+public enum OutputEncoding {
+
+    PRETTY("Pretty JSON", "json"),
+
+    MINIFIED("Minified JSON", "json"),
+
+    JSON_LINES("JSON Lines", "jsonl"),
+
+    CBOR("CBOR", "cbor"),
+
+    MESSAGE_PACK("MessagePack", "msgpack");
+
+    private final String displayName;
+
+    private final String extension;
+
+    OutputEncoding(String displayName, String extension) {
+        this.displayName = displayName;
+        this.extension = extension;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public boolean isBinary() {
+        return this == CBOR || this == MESSAGE_PACK;
+    }
+
+    /**
+     * 多个文档是否可以直接依次写出, 不需要包在一个对象里
+     */
+    public boolean isStream() {
+        return this != PRETTY && this != MINIFIED;
+    }
+
+    /**
+     * 设置中的输出风格对应的编码
+     */
+    public static OutputEncoding of(JsonOptions options) {
+        return options.isPretty() ? PRETTY : MINIFIED;
+    }
+
+    /**
+     * 文本编码沿用 options 的 null 和 html 转义设置, 缩进由编码决定.
+     * 返回的 JsonWriter 不能写多个顶层值, 写完一个文档后调用 {@link #endDocument}, 下一个文档新建 writer.
+     */
+    public JsonWriter newWriter(OutputStream out, JsonOptions options) {
+        JsonWriter writer;
+        switch (this) {
+            case CBOR:
+                writer = new CborWriter(out);
+                break;
+            case MESSAGE_PACK:
+                writer = new MessagePackWriter(out);
+                break;
+            case PRETTY:
+                JsonOptions pretty = options.isPretty() ? options : options.withIndent(JsonOptions.PRETTY.getIndent());
+                return pretty.newWriter(textWriter(out));
+            default:
+                return options.withIndent("").newWriter(textWriter(out));
+        }
+        writer.setSerializeNulls(options.isSerializeNulls());
+        return writer;
+    }
+
+    /**
+     * 一个文档写完, JSON Lines 换行. writer 已经 flush
+     */
+    public void endDocument(OutputStream out) throws IOException {
+        if (this == JSON_LINES) {
+            out.write('\n');
+        }
+    }
+
+    /**
+     * JsonWriter 每次只写几个字符, 直接写 OutputStreamWriter 每次都要编码, 先缓冲
+     */
+    private static Writer textWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    public static String[] displayNames() {
+        OutputEncoding[] encodings = values();
+        String[] names = new String[encodings.length];
+        for (int i = 0; i < encodings.length; i++) {
+            names[i] = encodings[i].displayName;
+        }
+        return names;
+    }
+}
@@ -0,0 +1,35 @@
+import com.intellij.openapi.project.Project;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * @description: 生成结果的去向: 剪贴板, 文件, scratch 文件, 编辑器标签页. 每次生成新建一个
+ * @date: 2026/10/18
+ */
+public interface OutputSink {
+
+    interface Content {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * 二进制内容, 如 CBOR. 目前只有写文件支持
+     */
+    interface BinaryContent {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * 在后台线程调用, 写文件这类不需要 EDT 的工作在这里完成.
+     * @param name 不含扩展名的名字, 如 com.foo.Order.sample.
+     * @param content 输出内容.
+     */
+    void prepare(String name, Content content) throws IOException;
+
+    /**
+     * 在 EDT 调用, 返回通知中说明去向的文字, 如 "copied to clipboard".
+     */
+    String deliver(Project project);
+}
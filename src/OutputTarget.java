@@ -0,0 +1,40 @@
+import com.intellij.openapi.project.Project;
+
+import java.util.function.Function;
+
+/**
+ * @description: 单个类生成结果的去向, 在设置中选择
+ * @date: 2026/10/18
+ */
+public enum OutputTarget {
+
+    CLIPBOARD("Clipboard", project -> new ClipboardSink()),
+
+    FILE("File", project -> new FileSink(PojoToJsonSettings.getInstance().getOutputDirectory(project))),
+
+    SCRATCH("Scratch file", project -> new ScratchSink()),
+
+    EDITOR("Editor tab", project -> new EditorTabSink());
+
+    private final String displayName;
+
+    private final Function<Project, OutputSink> factory;
+
+    OutputTarget(String displayName, Function<Project, OutputSink> factory) {
+        this.displayName = displayName;
+        this.factory = factory;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public OutputSink newSink(Project project) {
+        return factory.apply(project);
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
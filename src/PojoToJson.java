@@ -1,26 +0,0 @@
-import com.intellij.openapi.components.ApplicationComponent;
-import com.intellij.openapi.ui.Messages;
-import org.jetbrains.annotations.NotNull;
-
-
-public class PojoToJson implements ApplicationComponent {
-    public PojoToJson() {
-    }
-
-    @Override
-    public void initComponent() {
-        // TODO: insert component initialization logic here
-    }
-
-    @Override
-    public void disposeComponent() {
-        // TODO: insert component disposal logic here
-    }
-
-    @Override
-    @NotNull
-    public String getComponentName() {
-        return "PojoToJson";
-    }
-
-}
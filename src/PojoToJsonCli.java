@@ -0,0 +1,533 @@
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * @description: 命令行入口, 在 CI 中从 class 目录或 jar 生成 json 与 yapi schema
+ * @date: 2026/10/18
+ */
+public class PojoToJsonCli {
+
+    private static final String USAGE = "Usage: PojoToJsonCli --input <dirs/jars> --out <dir> [--classpath <dirs/jars>]"
+            + " [--package <prefix>] [--format sample,typed,yapi] [--encoding pretty|minified|jsonl|cbor|msgpack]"
+            + " [--combined] [--definitions] [--threads <n>] [--report <file>]"
+            + " [--samples <n> [--seed <seed>]]"
+            + " [--yapi <url> [--yapi-token-file <file>] [--yapi-catid <id>] [--yapi-path <prefix>] [--yapi-body request|response]"
+            + " [--yapi-concurrency <n>] [--yapi-state <file>]]\n"
+            + "  The yapi token is read from --yapi-token-file, else the YAPI_TOKEN environment variable,"
+            + " else --yapi-token <token> (visible in the process list, avoid in CI)";
+
+    private static final String YAPI_TOKEN_ENV = "YAPI_TOKEN";
+
+    private final List<File> inputs = new ArrayList<>();
+
+    private final List<File> classpath = new ArrayList<>();
+
+    private final List<JsonFormat> formats = new ArrayList<>();
+
+    private OutputEncoding encoding = OutputEncoding.PRETTY;
+
+    private File outputDir;
+
+    private File reportFile;
+
+    /**
+     * 大于 0 时改为生成随机示例数据, 每个类写出 samples 行
+     */
+    private int samples;
+
+    private long seed = 42;
+
+    private String packagePrefix = "";
+
+    private boolean combined;
+
+    private GenerationProfile profile = GenerationProfile.DEFAULT;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private String yapiUrl;
+
+    private String yapiToken;
+
+    private File yapiTokenFile;
+
+    private YapiClient.Builder yapiBuilder;
+
+    /**
+     * 上次推送的摘要, 推送后更新
+     */
+    private File yapiState;
+
+    private final List<String> yapiOptions = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        PojoToJsonCli cli = new PojoToJsonCli();
+        if (!cli.parse(args)) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        System.exit(cli.run() ? 0 : 1);
+    }
+
+    boolean parse(String[] args) {
+        try {
+            return parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            // 未知的格式名, 不是数字的数量等, 与其它错误参数一样打印用法
+            return false;
+        }
+    }
+
+    private boolean parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--combined".equals(arg)) {
+                combined = true;
+                continue;
+            }
+            if ("--definitions".equals(arg)) {
+                profile = new GenerationProfile.Builder().sharedDefinitions(true).build();
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                return false;
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--input":
+                    inputs.addAll(splitPath(value));
+                    break;
+                case "--classpath":
+                    classpath.addAll(splitPath(value));
+                    break;
+                case "--out":
+                    outputDir = new File(value);
+                    break;
+                case "--package":
+                    packagePrefix = value;
+                    break;
+                case "--format":
+                    for (String name : value.split(",")) {
+                        formats.add(JsonFormat.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                    }
+                    break;
+                case "--encoding":
+                    encoding = encodingOf(value);
+                    if (encoding == null) {
+                        return false;
+                    }
+                    break;
+                case "--samples":
+                    samples = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--report":
+                    reportFile = new File(value);
+                    break;
+                case "--threads":
+                    threads = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "--yapi":
+                    yapiUrl = value;
+                    break;
+                case "--yapi-token":
+                    yapiToken = value;
+                    break;
+                case "--yapi-token-file":
+                    yapiTokenFile = new File(value);
+                    break;
+                case "--yapi-state":
+                    yapiState = new File(value);
+                    break;
+                case "--yapi-catid":
+                case "--yapi-path":
+                case "--yapi-body":
+                case "--yapi-concurrency":
+                    yapiOptions.add(arg);
+                    yapiOptions.add(value);
+                    break;
+                default:
+                    return false;
+            }
+        }
+        if (formats.isEmpty()) {
+            formats.addAll(Arrays.asList(JsonFormat.values()));
+        }
+        if (yapiUrl != null || yapiToken != null || yapiTokenFile != null || !yapiOptions.isEmpty()) {
+            yapiToken = resolveYapiToken();
+            if (yapiUrl == null || yapiToken == null) {
+                return false;
+            }
+            yapiBuilder = newYapiBuilder();
+        }
+        return !inputs.isEmpty() && outputDir != null;
+    }
+
+    /**
+     * 命令行参数会出现在进程列表和 CI 日志中, token 依次取 --yapi-token-file, 环境变量 YAPI_TOKEN, 最后才是 --yapi-token.
+     * 都没有或文件读取失败时返回 null
+     */
+    private String resolveYapiToken() {
+        if (yapiTokenFile != null) {
+            try {
+                String token = new String(Files.readAllBytes(yapiTokenFile.toPath()), StandardCharsets.UTF_8).trim();
+                return token.isEmpty() ? null : token;
+            } catch (IOException e) {
+                System.err.println("Cannot read yapi token from " + yapiTokenFile + ": " + e);
+                return null;
+            }
+        }
+        String token = System.getenv(YAPI_TOKEN_ENV);
+        return token != null && !token.isEmpty() ? token : yapiToken;
+    }
+
+    /**
+     * --yapi-* 参数可以写在 --yapi 之前, 解析完再创建
+     */
+    private YapiClient.Builder newYapiBuilder() {
+        YapiClient.Builder yapiBuilder = new YapiClient.Builder(yapiUrl, yapiToken);
+        for (int i = 0; i < yapiOptions.size(); i += 2) {
+            String value = yapiOptions.get(i + 1);
+            switch (yapiOptions.get(i)) {
+                case "--yapi-catid":
+                    yapiBuilder.catId(value);
+                    break;
+                case "--yapi-path":
+                    yapiBuilder.pathPrefix(value);
+                    break;
+                case "--yapi-body":
+                    yapiBuilder.body(YapiClient.Body.valueOf(value.toUpperCase(Locale.ROOT)));
+                    break;
+                default:
+                    yapiBuilder.concurrency(Integer.parseInt(value));
+                    break;
+            }
+        }
+        return yapiBuilder;
+    }
+
+    boolean run() throws Exception {
+        List<String> classNames = new ArrayList<>();
+        for (File input : inputs) {
+            scan(input, classNames);
+        }
+        Collections.sort(classNames);
+        List<URL> urls = new ArrayList<>();
+        for (File file : inputs) {
+            urls.add(file.toURI().toURL());
+        }
+        for (File file : classpath) {
+            urls.add(file.toURI().toURL());
+        }
+        Map<JsonFormat, JsonEmitter> emitters = new EnumMap<>(JsonFormat.class);
+        RandomSampleWriter sampleWriter = null;
+        if (samples > 0) {
+            Files.createDirectories(samplesDir());
+            // 类之间已经并行, 单个类内部不再分线程
+            sampleWriter = new RandomSampleWriter(new RandomSampleEmitter(profile, seed, 1, 5), JsonOptions.COMPACT, 1);
+        } else {
+            for (JsonFormat format : formats) {
+                Files.createDirectories(formatDir(format));
+                emitters.put(format, format.newEmitter(profile));
+            }
+        }
+        RandomSampleWriter randomWriter = sampleWriter;
+
+        long start = System.nanoTime();
+        ConversionStats stats = new ConversionStats();
+        ReflectionModelBuilder builder = new ReflectionModelBuilder(profile, stats);
+        Set<String> warnings = ConcurrentHashMap.newKeySet();
+        Map<String, TypeModel> models = new ConcurrentSkipListMap<>();
+        Map<String, TypeModel> pushModels = new ConcurrentSkipListMap<>();
+        Map<String, Long> modelNanos = new ConcurrentHashMap<>();
+        AtomicInteger converted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        boolean success = true;
+        try (URLClassLoader loader = new URLClassLoader(urls.toArray(new URL[0]), PojoToJsonCli.class.getClassLoader())) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String className : classNames) {
+                futures.add(pool.submit(() -> {
+                    Class<?> type = Class.forName(className, false, loader);
+                    // 与 PsiClassCollector 一致, 非 public 的顶层类也生成
+                    if (type.isInterface() || type.isEnum() || type.isAnnotation()) {
+                        return null;
+                    }
+                    long modelStart = System.nanoTime();
+                    TypeModel model = builder.build(type);
+                    long nanos = System.nanoTime() - modelStart;
+                    converted.incrementAndGet();
+                    if (yapiBuilder != null) {
+                        pushModels.put(className, model);
+                    }
+                    if (randomWriter != null) {
+                        writeSamples(samplesDir().resolve(className + ".jsonl"), className, randomWriter, model, nanos, stats, warnings);
+                    } else if (combined) {
+                        models.put(className, model);
+                        modelNanos.put(className, nanos);
+                    } else {
+                        for (JsonFormat format : formats) {
+                            write(formatDir(format).resolve(className + "." + encoding.getExtension()), className + "." + format.name().toLowerCase(Locale.ROOT), emitters.get(format), model, nanos, stats, warnings);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    success = false;
+                    System.err.println("Convert " + classNames.get(i) + " failed: " + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        if (combined && randomWriter == null) {
+            for (JsonFormat format : formats) {
+                writeCombined(outputDir.toPath().resolve(format.getDisplayName() + "." + encoding.getExtension()), emitters.get(format), models, modelNanos, stats, warnings);
+            }
+        }
+        if (yapiBuilder != null && !pushYapi(pushModels, warnings)) {
+            success = false;
+        }
+        for (String warning : warnings) {
+            System.err.println("Warning: " + warning);
+        }
+        stats.finish();
+        System.out.printf("Converted %d classes in %d ms%n", converted.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        System.out.println(stats.summary());
+        if (reportFile != null) {
+            try (Writer writer = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8)) {
+                JsonWriter out = JsonOptions.PRETTY.newWriter(writer);
+                stats.writeReport(out);
+                out.flush();
+            }
+        }
+        return success;
+    }
+
+    /**
+     * 每个类推送为一个接口, 路径为前缀 + 类名. 没有变化的类按 --yapi-state 中的摘要跳过
+     */
+    private boolean pushYapi(Map<String, TypeModel> models, Set<String> warnings) throws IOException, InterruptedException {
+        YapiClient client = yapiBuilder.build();
+        JsonEmitter emitter = JsonFormat.YAPI.newEmitter(profile);
+        List<YapiClient.Schema> schemas = new ArrayList<>(models.size());
+        for (Map.Entry<String, TypeModel> entry : models.entrySet()) {
+            List<String> classWarnings = new ArrayList<>();
+            String className = entry.getKey();
+            schemas.add(new YapiClient.Schema(className, className.substring(className.lastIndexOf('.') + 1),
+                    emitter.toJson(entry.getValue(), JsonOptions.COMPACT, classWarnings)));
+            warnings.addAll(classWarnings);
+        }
+        Map<String, String> previous = readYapiState(client.getScope());
+        long start = System.nanoTime();
+        YapiClient.Result result = client.push(schemas, previous, (finished, total, key) -> {
+        }, () -> false);
+        System.out.printf("YApi: %d pushed, %d unchanged, %d failed, %d retries in %d ms%n", result.getPushed(), result.getSkipped(),
+                result.getErrors().size(), result.getRetries(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        for (Map.Entry<String, String> error : result.getErrors().entrySet()) {
+            System.err.println("Push " + error.getKey() + " failed: " + error.getValue());
+        }
+        if (yapiState != null) {
+            writeYapiState(client.getScope(), result.getHashes());
+        }
+        return result.getErrors().isEmpty();
+    }
+
+    /**
+     * 状态文件为 {"scope": 推送范围, "hashes": {类名: 摘要}}, 范围不同时全部重新推送
+     */
+    private Map<String, String> readYapiState(String scope) throws IOException {
+        Map<String, String> hashes = new HashMap<>();
+        if (yapiState == null || !yapiState.isFile()) {
+            return hashes;
+        }
+        try (Reader reader = Files.newBufferedReader(yapiState.toPath(), StandardCharsets.UTF_8)) {
+            JsonElement element = new JsonParser().parse(reader);
+            if (!element.isJsonObject()) {
+                return hashes;
+            }
+            JsonObject state = element.getAsJsonObject();
+            if (!state.has("scope") || !scope.equals(state.get("scope").getAsString()) || !state.has("hashes")) {
+                return hashes;
+            }
+            for (Map.Entry<String, JsonElement> entry : state.getAsJsonObject("hashes").entrySet()) {
+                hashes.put(entry.getKey(), entry.getValue().getAsString());
+            }
+        } catch (JsonParseException | IllegalStateException | ClassCastException e) {
+            System.err.println("Warning: ignoring unreadable " + yapiState + ": " + e.getMessage());
+        }
+        return hashes;
+    }
+
+    private void writeYapiState(String scope, Map<String, String> hashes) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(yapiState.toPath(), StandardCharsets.UTF_8)) {
+            JsonWriter out = JsonOptions.PRETTY.newWriter(writer);
+            out.beginObject();
+            out.name("scope").value(scope);
+            out.name("hashes").beginObject();
+            for (Map.Entry<String, String> entry : new TreeMap<>(hashes).entrySet()) {
+                out.name(entry.getKey()).value(entry.getValue());
+            }
+            out.endObject();
+            out.endObject();
+            out.flush();
+        }
+    }
+
+    private Path samplesDir() {
+        return outputDir.toPath().resolve("samples");
+    }
+
+    private Path formatDir(JsonFormat format) {
+        return combined ? outputDir.toPath() : outputDir.toPath().resolve(format.name().toLowerCase(Locale.ROOT));
+    }
+
+    private void write(Path path, String name, JsonEmitter emitter, TypeModel model, long modelNanos,
+                       ConversionStats stats, Set<String> warnings) throws IOException {
+        List<String> classWarnings = new ArrayList<>();
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(path))) {
+            ConversionStats.CountingOutputStream counter = new ConversionStats.CountingOutputStream(stream);
+            JsonWriter out = encoding.newWriter(counter, JsonOptions.PRETTY);
+            stats.emit(name, model, modelNanos, emitter, out, ConversionStats.position(out, counter), classWarnings);
+            out.flush();
+            encoding.endDocument(counter);
+            stats.addOutputBytes(counter.getBytes());
+        }
+        warnings.addAll(classWarnings);
+    }
+
+    private void writeSamples(Path path, String name, RandomSampleWriter writer, TypeModel model, long modelNanos,
+                              ConversionStats stats, Set<String> warnings) throws IOException {
+        long start = System.nanoTime();
+        try (Writer fileWriter = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            ConversionStats.CountingWriter counter = new ConversionStats.CountingWriter(fileWriter);
+            writer.write(model, samples, counter, written -> {
+            }, warnings);
+            long nanos = System.nanoTime() - start;
+            stats.addTime(ConversionStats.Phase.EMIT, nanos);
+            stats.addOutputBytes(counter.getBytes());
+            stats.root(name, model.getClasses().size(), modelNanos + nanos, counter.getBytes());
+        }
+    }
+
+    /**
+     * 以类名为 key 合并成一个文档, 流式编码则每个类一条记录 {"class": 类名, "value": 内容}
+     */
+    private void writeCombined(Path path, JsonEmitter emitter, Map<String, TypeModel> models, Map<String, Long> modelNanos,
+                               ConversionStats stats, Set<String> warnings) throws IOException {
+        List<String> classWarnings = new ArrayList<>();
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(path))) {
+            ConversionStats.CountingOutputStream counter = new ConversionStats.CountingOutputStream(stream);
+            JsonWriter out = null;
+            if (!encoding.isStream()) {
+                out = encoding.newWriter(counter, JsonOptions.PRETTY);
+                out.beginObject();
+            }
+            for (Map.Entry<String, TypeModel> entry : models.entrySet()) {
+                if (encoding.isStream()) {
+                    out = encoding.newWriter(counter, JsonOptions.PRETTY);
+                    out.beginObject();
+                    out.name("class").value(entry.getKey());
+                    out.name("value");
+                } else {
+                    out.name(entry.getKey());
+                }
+                stats.emit(entry.getKey(), entry.getValue(), modelNanos.get(entry.getKey()), emitter, out,
+                        ConversionStats.position(out, counter), classWarnings);
+                if (encoding.isStream()) {
+                    out.endObject();
+                    out.flush();
+                    encoding.endDocument(counter);
+                }
+            }
+            if (!encoding.isStream()) {
+                out.endObject();
+                out.flush();
+            }
+            stats.addOutputBytes(counter.getBytes());
+        }
+        warnings.addAll(classWarnings);
+    }
+
+    /**
+     * 收集顶层类名, 与 IDE 中批量生成一致, 不包含内部类.
+     */
+    private void scan(File input, List<String> classNames) throws IOException {
+        if (input.isDirectory()) {
+            Path root = input.toPath();
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    addClass(root.relativize(file).toString().replace(File.separatorChar, '/'), classNames);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } else if (input.isFile()) {
+            try (JarFile jar = new JarFile(input)) {
+                Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    addClass(entries.nextElement().getName(), classNames);
+                }
+            }
+        }
+    }
+
+    private void addClass(String path, List<String> classNames) {
+        if (!path.endsWith(".class") || path.indexOf('$') >= 0 || path.endsWith("module-info.class") || path.endsWith("package-info.class")) {
+            return;
+        }
+        String className = path.substring(0, path.length() - ".class".length()).replace('/', '.');
+        // 按包匹配, com.foo 不包括 com.foobar 中的类
+        if (packagePrefix.isEmpty() || className.equals(packagePrefix) || className.startsWith(packagePrefix + ".")) {
+            classNames.add(className);
+        }
+    }
+
+    /**
+     * 枚举名或扩展名, 如 message_pack, msgpack
+     */
+    private static OutputEncoding encodingOf(String value) {
+        String name = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (OutputEncoding encoding : OutputEncoding.values()) {
+            if (encoding.name().equals(name) || (encoding != OutputEncoding.MINIFIED && encoding.getExtension().equalsIgnoreCase(name))) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+
+    private static List<File> splitPath(String value) {
+        List<File> files = new ArrayList<>();
+        for (String part : value.split(File.pathSeparator)) {
+            if (!part.isEmpty()) {
+                files.add(new File(part));
+            }
+        }
+        return files;
+    }
+}
@@ -0,0 +1,280 @@
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
+import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.openapi.options.SearchableConfigurable;
+import com.intellij.openapi.ui.TextFieldWithBrowseButton;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.util.ui.FormBuilder;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @description: Settings | Tools | PojoToJson
+ * @date: 2026/10/18
+ */
+public class PojoToJsonConfigurable implements SearchableConfigurable {
+
+    private JTextArea defaultValues;
+
+    private JTextField dateFormat;
+
+    private JBCheckBox includeStatic;
+
+    private JBCheckBox includeTransient;
+
+    private JComboBox<GenerationProfile.NamingStrategy> namingStrategy;
+
+    private JBCheckBox useAnnotationNames;
+
+    private JSpinner maxDepth;
+
+    private JSpinner maxNodes;
+
+    private JComboBox<GenerationProfile.OutputStyle> outputStyle;
+
+    private JBCheckBox serializeNulls;
+
+    private JBCheckBox sharedDefinitions;
+
+    private JComboBox<OutputTarget> outputTarget;
+
+    private TextFieldWithBrowseButton outputDirectory;
+
+    private JBCheckBox showDetails;
+
+    private JTextField sampleSeed;
+
+    private JSpinner sampleMinItems;
+
+    private JSpinner sampleMaxItems;
+
+    private JTextField yapiUrl;
+
+    private JPasswordField yapiToken;
+
+    /**
+     * reset 时从密码库读出的 token. isModified 会被反复调用, 不每次都读密码库
+     */
+    private String savedYapiToken = "";
+
+    private JTextField yapiCatId;
+
+    private JTextField yapiPathPrefix;
+
+    private JComboBox<YapiClient.Body> yapiBody;
+
+    private JSpinner yapiConcurrency;
+
+    @NotNull
+    @Override
+    public String getId() {
+        return "PojoToJson";
+    }
+
+    @Nls
+    @Override
+    public String getDisplayName() {
+        return "PojoToJson";
+    }
+
+    @Override
+    public JComponent createComponent() {
+        defaultValues = new JTextArea(10, 40);
+        dateFormat = new JTextField();
+        includeStatic = new JBCheckBox("Include static fields");
+        includeTransient = new JBCheckBox("Include transient fields");
+        namingStrategy = new JComboBox<>(GenerationProfile.NamingStrategy.values());
+        useAnnotationNames = new JBCheckBox("Use names from @JsonProperty / @SerializedName");
+        maxDepth = new JSpinner(new SpinnerNumberModel(1, 1, 1000, 1));
+        maxNodes = new JSpinner(new SpinnerNumberModel(1, 1, 1000000, 100));
+        outputStyle = new JComboBox<>(GenerationProfile.OutputStyle.values());
+        serializeNulls = new JBCheckBox("Write null values");
+        sharedDefinitions = new JBCheckBox("YApi schema: write each class once under definitions and reference it with $ref");
+        outputTarget = new JComboBox<>(OutputTarget.values());
+        outputDirectory = new TextFieldWithBrowseButton();
+        outputDirectory.addBrowseFolderListener("Output Directory", "Directory for generated files, defaults to <project>/pojotojson",
+                null, FileChooserDescriptorFactory.createSingleFolderDescriptor());
+        showDetails = new JBCheckBox("Show timings and counters after each conversion");
+        sampleSeed = new JTextField();
+        sampleMinItems = new JSpinner(new SpinnerNumberModel(0, 0, 1000, 1));
+        sampleMaxItems = new JSpinner(new SpinnerNumberModel(0, 0, 1000, 1));
+        yapiUrl = new JTextField();
+        yapiToken = new JPasswordField();
+        yapiCatId = new JTextField();
+        yapiPathPrefix = new JTextField();
+        yapiBody = new JComboBox<>(YapiClient.Body.values());
+        yapiConcurrency = new JSpinner(new SpinnerNumberModel(1, 1, 32, 1));
+        return FormBuilder.createFormBuilder()
+                .addLabeledComponent("Default values (Type=json literal, one per line):", new JBScrollPane(defaultValues), true)
+                .addLabeledComponent("Date format:", dateFormat)
+                .addComponent(includeStatic)
+                .addComponent(includeTransient)
+                .addLabeledComponent("Field naming:", namingStrategy)
+                .addComponent(useAnnotationNames)
+                .addLabeledComponent("Max depth:", maxDepth)
+                .addLabeledComponent("Max nested classes:", maxNodes)
+                .addLabeledComponent("Output style:", outputStyle)
+                .addComponent(serializeNulls)
+                .addComponent(sharedDefinitions)
+                .addLabeledComponent("Send output to:", outputTarget)
+                .addLabeledComponent("Output directory:", outputDirectory)
+                .addComponent(showDetails)
+                .addSeparator()
+                .addLabeledComponent("Random samples seed:", sampleSeed)
+                .addLabeledComponent("Min items per collection:", sampleMinItems)
+                .addLabeledComponent("Max items per collection:", sampleMaxItems)
+                .addSeparator()
+                .addLabeledComponent("YApi URL:", yapiUrl)
+                .addLabeledComponent("YApi project token:", yapiToken)
+                .addLabeledComponent("YApi category id:", yapiCatId)
+                .addLabeledComponent("Interface path prefix:", yapiPathPrefix)
+                .addLabeledComponent("Push schema as:", yapiBody)
+                .addLabeledComponent("Concurrent requests:", yapiConcurrency)
+                .getPanel();
+    }
+
+    @Override
+    public boolean isModified() {
+        PojoToJsonSettings.SettingsState saved = PojoToJsonSettings.getInstance().getState();
+        PojoToJsonSettings.SettingsState current = toState();
+        return !Objects.equals(saved.defaultValues, current.defaultValues)
+                || !Objects.equals(saved.dateFormat, current.dateFormat)
+                || saved.includeStatic != current.includeStatic
+                || saved.includeTransient != current.includeTransient
+                || !Objects.equals(saved.namingStrategy, current.namingStrategy)
+                || saved.useAnnotationNames != current.useAnnotationNames
+                || saved.maxDepth != current.maxDepth
+                || saved.maxNodes != current.maxNodes
+                || !Objects.equals(saved.outputStyle, current.outputStyle)
+                || saved.serializeNulls != current.serializeNulls
+                || saved.sharedDefinitions != current.sharedDefinitions
+                || !Objects.equals(saved.outputTarget, current.outputTarget)
+                || !Objects.equals(saved.outputDirectory, current.outputDirectory)
+                || saved.showDetails != current.showDetails
+                || saved.sampleSeed != current.sampleSeed
+                || saved.sampleMinItems != current.sampleMinItems
+                || saved.sampleMaxItems != current.sampleMaxItems
+                || !Objects.equals(saved.yapiUrl, current.yapiUrl)
+                || !Objects.equals(saved.yapiCatId, current.yapiCatId)
+                || !Objects.equals(saved.yapiPathPrefix, current.yapiPathPrefix)
+                || !Objects.equals(saved.yapiBody, current.yapiBody)
+                || saved.yapiConcurrency != current.yapiConcurrency
+                || !savedYapiToken.equals(new String(yapiToken.getPassword()));
+    }
+
+    @Override
+    public void apply() throws ConfigurationException {
+        try {
+            Long.parseLong(sampleSeed.getText().trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Random samples seed must be a number");
+        }
+        PojoToJsonSettings.SettingsState state = toState();
+        if (state.sampleMaxItems < state.sampleMinItems) {
+            throw new ConfigurationException("Max items per collection must not be less than min items");
+        }
+        try {
+            PojoToJsonSettings.toProfile(state);
+        } catch (IllegalArgumentException e) {
+            throw new ConfigurationException("Invalid date format: " + e.getMessage());
+        }
+        String url = state.yapiUrl;
+        if (!url.isEmpty() && !url.startsWith("http://") && !url.startsWith("https://")) {
+            throw new ConfigurationException("YApi URL must start with http:// or https://");
+        }
+        PojoToJsonSettings.getInstance().update(state);
+        String token = new String(yapiToken.getPassword());
+        if (!token.equals(savedYapiToken)) {
+            PojoToJsonSettings.getInstance().setYapiToken(token);
+            savedYapiToken = token;
+        }
+    }
+
+    @Override
+    public void reset() {
+        PojoToJsonSettings.SettingsState state = PojoToJsonSettings.getInstance().getState();
+        StringBuilder values = new StringBuilder();
+        for (Map.Entry<String, String> entry : state.defaultValues.entrySet()) {
+            values.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        defaultValues.setText(values.toString());
+        dateFormat.setText(state.dateFormat);
+        includeStatic.setSelected(state.includeStatic);
+        includeTransient.setSelected(state.includeTransient);
+        namingStrategy.setSelectedItem(GenerationProfile.NamingStrategy.valueOf(state.namingStrategy));
+        useAnnotationNames.setSelected(state.useAnnotationNames);
+        maxDepth.setValue(state.maxDepth);
+        maxNodes.setValue(state.maxNodes);
+        outputStyle.setSelectedItem(GenerationProfile.OutputStyle.valueOf(state.outputStyle));
+        serializeNulls.setSelected(state.serializeNulls);
+        sharedDefinitions.setSelected(state.sharedDefinitions);
+        outputTarget.setSelectedItem(PojoToJsonSettings.getInstance().getOutputTarget());
+        outputDirectory.setText(state.outputDirectory);
+        showDetails.setSelected(state.showDetails);
+        sampleSeed.setText(String.valueOf(state.sampleSeed));
+        sampleMinItems.setValue(state.sampleMinItems);
+        sampleMaxItems.setValue(state.sampleMaxItems);
+        yapiUrl.setText(state.yapiUrl);
+        savedYapiToken = PojoToJsonSettings.getInstance().getYapiToken();
+        yapiToken.setText(savedYapiToken);
+        yapiCatId.setText(state.yapiCatId);
+        yapiPathPrefix.setText(state.yapiPathPrefix);
+        yapiBody.setSelectedItem(YapiClient.Body.valueOf(state.yapiBody));
+        yapiConcurrency.setValue(state.yapiConcurrency);
+    }
+
+    @Override
+    public void disposeUIResources() {
+        defaultValues = null;
+        dateFormat = null;
+        namingStrategy = null;
+        outputStyle = null;
+        outputTarget = null;
+        outputDirectory = null;
+        yapiToken = null;
+        yapiBody = null;
+    }
+
+    private PojoToJsonSettings.SettingsState toState() {
+        PojoToJsonSettings.SettingsState state = new PojoToJsonSettings.SettingsState();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String line : defaultValues.getText().split("\n")) {
+            int separator = line.indexOf('=');
+            if (separator > 0) {
+                values.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+            }
+        }
+        state.defaultValues = values;
+        state.dateFormat = dateFormat.getText().trim();
+        state.includeStatic = includeStatic.isSelected();
+        state.includeTransient = includeTransient.isSelected();
+        state.namingStrategy = ((GenerationProfile.NamingStrategy) namingStrategy.getSelectedItem()).name();
+        state.useAnnotationNames = useAnnotationNames.isSelected();
+        state.maxDepth = (Integer) maxDepth.getValue();
+        state.maxNodes = (Integer) maxNodes.getValue();
+        state.outputStyle = ((GenerationProfile.OutputStyle) outputStyle.getSelectedItem()).name();
+        state.serializeNulls = serializeNulls.isSelected();
+        state.sharedDefinitions = sharedDefinitions.isSelected();
+        state.outputTarget = ((OutputTarget) outputTarget.getSelectedItem()).name();
+        state.outputDirectory = outputDirectory.getText().trim();
+        state.showDetails = showDetails.isSelected();
+        try {
+            state.sampleSeed = Long.parseLong(sampleSeed.getText().trim());
+        } catch (NumberFormatException e) {
+            state.sampleSeed = PojoToJsonSettings.getInstance().getState().sampleSeed;
+        }
+        state.sampleMinItems = (Integer) sampleMinItems.getValue();
+        state.sampleMaxItems = (Integer) sampleMaxItems.getValue();
+        state.yapiUrl = yapiUrl.getText().trim();
+        state.yapiCatId = yapiCatId.getText().trim();
+        state.yapiPathPrefix = yapiPathPrefix.getText().trim();
+        state.yapiBody = ((YapiClient.Body) yapiBody.getSelectedItem()).name();
+        state.yapiConcurrency = (Integer) yapiConcurrency.getValue();
+        return state;
+    }
+}
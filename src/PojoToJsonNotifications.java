@@ -0,0 +1,22 @@
+import com.intellij.notification.NotificationDisplayType;
+import com.intellij.notification.NotificationGroup;
+
+/**
+ * @description: 各个 action 共用的通知组, 第一次通知时才创建, 加载 action 类时不执行插件代码
+ * @date: 2026/10/18
+ */
+public final class PojoToJsonNotifications {
+
+    public static final String GROUP_ID = "Java2Json.NotificationGroup";
+
+    private PojoToJsonNotifications() {
+    }
+
+    public static NotificationGroup getGroup() {
+        return Holder.GROUP;
+    }
+
+    private static final class Holder {
+        static final NotificationGroup GROUP = new NotificationGroup(GROUP_ID, NotificationDisplayType.BALLOON, true);
+    }
+}
@@ -0,0 +1,186 @@
+import com.intellij.credentialStore.CredentialAttributes;
+import com.intellij.ide.passwordSafe.PasswordSafe;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @description: 生成设置, 保存在 pojotojson.xml. 设置变化后重新解析一次 GenerationProfile
+ * @date: 2026/10/18
+ */
+@State(name = "PojoToJsonSettings", storages = @Storage("pojotojson.xml"))
+public class PojoToJsonSettings implements PersistentStateComponent<PojoToJsonSettings.SettingsState> {
+
+    private static final Logger LOG = Logger.getInstance(PojoToJsonSettings.class);
+
+    /**
+     * yapi token 不写进 pojotojson.xml, 保存在 IDE 的密码库中
+     */
+    private static final CredentialAttributes YAPI_TOKEN = new CredentialAttributes("PojoToJson YApi", "token");
+
+    private SettingsState state = new SettingsState();
+
+    private volatile GenerationProfile profile;
+
+    public static PojoToJsonSettings getInstance() {
+        return ServiceManager.getService(PojoToJsonSettings.class);
+    }
+
+    @Override
+    public SettingsState getState() {
+        return state;
+    }
+
+    @Override
+    public void loadState(SettingsState state) {
+        this.state = state;
+        this.profile = null;
+    }
+
+    /**
+     * 设置页面保存时调用, state 需要已经通过 {@link #toProfile} 校验
+     */
+    public void update(SettingsState state) {
+        loadState(state);
+    }
+
+    public GenerationProfile getProfile() {
+        GenerationProfile current = profile;
+        if (current == null) {
+            try {
+                current = toProfile(state);
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Invalid PojoToJson settings, using defaults", e);
+                current = GenerationProfile.DEFAULT;
+            }
+            profile = current;
+        }
+        return current;
+    }
+
+    /**
+     * 生成结束后是否显示耗时通知, 不显示时只写日志
+     */
+    public boolean isShowDetails() {
+        return state.showDetails;
+    }
+
+    /**
+     * 随机示例数据, 元素个数范围不合法时按 1..5
+     */
+    public RandomSampleEmitter newRandomEmitter(GenerationProfile profile) {
+        boolean valid = state.sampleMinItems >= 0 && state.sampleMaxItems >= state.sampleMinItems;
+        return new RandomSampleEmitter(profile, state.sampleSeed, valid ? state.sampleMinItems : 1, valid ? state.sampleMaxItems : 5);
+    }
+
+    public OutputTarget getOutputTarget() {
+        try {
+            return OutputTarget.valueOf(state.outputTarget);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return OutputTarget.CLIPBOARD;
+        }
+    }
+
+    /**
+     * 没有设置时为项目下的 pojotojson 目录
+     */
+    public File getOutputDirectory(Project project) {
+        if (state.outputDirectory != null && !state.outputDirectory.trim().isEmpty()) {
+            return new File(state.outputDirectory.trim());
+        }
+        String basePath = project.getBasePath();
+        return new File(basePath == null ? System.getProperty("java.io.tmpdir") : basePath, "pojotojson");
+    }
+
+    /**
+     * 读取密码库, 可能较慢或弹出确认, 不要在 EDT 上反复调用
+     */
+    public String getYapiToken() {
+        String token = PasswordSafe.getInstance().getPassword(YAPI_TOKEN);
+        return token == null ? "" : token;
+    }
+
+    public void setYapiToken(String token) {
+        PasswordSafe.getInstance().setPassword(YAPI_TOKEN, token == null || token.isEmpty() ? null : token);
+    }
+
+    /**
+     * 会读取密码库中的 token, 在后台线程中调用
+     * @throws IllegalArgumentException 没有设置地址或 token, 或者设置不合法
+     */
+    public YapiClient newYapiClient() {
+        if (state.yapiUrl == null || state.yapiUrl.trim().isEmpty()) {
+            throw new IllegalArgumentException("YApi URL is not set");
+        }
+        String token = getYapiToken();
+        if (token.isEmpty()) {
+            throw new IllegalArgumentException("YApi project token is not set");
+        }
+        YapiClient.Body body;
+        try {
+            body = YapiClient.Body.valueOf(state.yapiBody);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            body = YapiClient.Body.RESPONSE;
+        }
+        return new YapiClient.Builder(state.yapiUrl.trim(), token)
+                .catId(state.yapiCatId == null ? "" : state.yapiCatId.trim())
+                .pathPrefix(state.yapiPathPrefix == null ? "" : state.yapiPathPrefix.trim())
+                .body(body)
+                .concurrency(state.yapiConcurrency)
+                .build();
+    }
+
+    /**
+     * @throws IllegalArgumentException 日期格式等不合法
+     */
+    public static GenerationProfile toProfile(SettingsState state) {
+        return new GenerationProfile.Builder()
+                .defaultValues(state.defaultValues)
+                .dateFormat(state.dateFormat)
+                .includeStatic(state.includeStatic)
+                .includeTransient(state.includeTransient)
+                .namingStrategy(GenerationProfile.NamingStrategy.valueOf(state.namingStrategy))
+                .useAnnotationNames(state.useAnnotationNames)
+                .maxDepth(state.maxDepth)
+                .maxNodes(state.maxNodes)
+                .outputStyle(GenerationProfile.OutputStyle.valueOf(state.outputStyle))
+                .serializeNulls(state.serializeNulls)
+                .sharedDefinitions(state.sharedDefinitions)
+                .build();
+    }
+
+    /**
+     * 由 XmlSerializer 读写, 字段需要是 public
+     */
+    public static class SettingsState {
+        public Map<String, String> defaultValues = new LinkedHashMap<>(GenerationProfile.DEFAULT_VALUES);
+        public String dateFormat = GenerationProfile.DEFAULT_DATE_FORMAT;
+        public boolean includeStatic;
+        public boolean includeTransient;
+        public String namingStrategy = GenerationProfile.NamingStrategy.AS_IS.name();
+        public boolean useAnnotationNames = true;
+        public int maxDepth = FieldWalker.DEFAULT_MAX_DEPTH;
+        public int maxNodes = FieldWalker.DEFAULT_MAX_NODES;
+        public String outputStyle = GenerationProfile.OutputStyle.PRETTY.name();
+        public boolean serializeNulls;
+        public boolean sharedDefinitions;
+        public String outputTarget = OutputTarget.CLIPBOARD.name();
+        public String outputDirectory = "";
+        public boolean showDetails;
+        public long sampleSeed = 42;
+        public int sampleMinItems = 1;
+        public int sampleMaxItems = 5;
+        public String yapiUrl = "";
+        public String yapiCatId = "";
+        public String yapiPathPrefix = "/schema/";
+        public String yapiBody = YapiClient.Body.RESPONSE.name();
+        public int yapiConcurrency = 4;
+    }
+}
@@ -0,0 +1,80 @@
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @description: 收集包/目录/模块下需要生成的类, 需要在读操作中调用
+ * @date: 2026/10/18
+ */
+public class PsiClassCollector {
+
+    private final Set<PsiClass> classes = new LinkedHashSet<>();
+
+    public List<PsiClass> getClasses() {
+        return new ArrayList<>(classes);
+    }
+
+    public PsiClassCollector add(PsiElement element) {
+        if (element instanceof PsiDirectory) {
+            addDirectory((PsiDirectory) element);
+        } else if (element instanceof PsiPackage) {
+            addPackage((PsiPackage) element, GlobalSearchScope.projectScope(element.getProject()));
+        } else if (element instanceof PsiClassOwner) {
+            for (PsiClass psiClass : ((PsiClassOwner) element).getClasses()) {
+                addClass(psiClass);
+            }
+        } else if (element instanceof PsiClass) {
+            addClass((PsiClass) element);
+        }
+        return this;
+    }
+
+    public PsiClassCollector add(Module module) {
+        PsiManager psiManager = PsiManager.getInstance(module.getProject());
+        for (VirtualFile root : ModuleRootManager.getInstance(module).getSourceRoots(false)) {
+            PsiDirectory directory = psiManager.findDirectory(root);
+            if (directory != null) {
+                addDirectory(directory);
+            }
+        }
+        return this;
+    }
+
+    private void addDirectory(PsiDirectory directory) {
+        ProgressManager.checkCanceled();
+        for (PsiClass psiClass : JavaDirectoryService.getInstance().getClasses(directory)) {
+            addClass(psiClass);
+        }
+        for (PsiDirectory subdirectory : directory.getSubdirectories()) {
+            addDirectory(subdirectory);
+        }
+    }
+
+    private void addPackage(PsiPackage psiPackage, GlobalSearchScope scope) {
+        ProgressManager.checkCanceled();
+        for (PsiClass psiClass : psiPackage.getClasses(scope)) {
+            addClass(psiClass);
+        }
+        for (PsiPackage subPackage : psiPackage.getSubPackages(scope)) {
+            addPackage(subPackage, scope);
+        }
+    }
+
+    /**
+     * 只保留普通类, 接口/枚举/注解不生成
+     */
+    private void addClass(PsiClass psiClass) {
+        if (psiClass.isInterface() || psiClass.isAnnotationType() || psiClass.isEnum()) {
+            return;
+        }
+        classes.add(psiClass);
+    }
+}
@@ -0,0 +1,49 @@
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+
+/**
+ * @description: 项目视图中选中包/目录/模块, 把其中的类作为 yapi 接口批量推送. 地址、token 和分类在设置中填写
+ * @date: 2026/10/18
+ */
+public class PushToYapi extends AnAction {
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && (getElements(e) != null || getModule(e) != null));
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        PsiElement[] elements = getElements(e);
+        Module module = getModule(e);
+        if (project == null || (elements == null && module == null)) {
+            return;
+        }
+        BulkBuildJsonTask.ClassSource source = () -> {
+            PsiClassCollector collector = new PsiClassCollector();
+            if (elements != null) {
+                for (PsiElement element : elements) {
+                    collector.add(element);
+                }
+            } else {
+                collector.add(module);
+            }
+            return collector.getClasses();
+        };
+        new YapiPushTask(project, source, PojoToJsonNotifications.getGroup()).queue();
+    }
+
+    private static PsiElement[] getElements(AnActionEvent e) {
+        PsiElement[] elements = e.getData(LangDataKeys.PSI_ELEMENT_ARRAY);
+        return elements == null || elements.length == 0 ? null : elements;
+    }
+
+    private static Module getModule(AnActionEvent e) {
+        return e.getData(LangDataKeys.MODULE_CONTEXT);
+    }
+}
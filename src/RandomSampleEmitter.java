@@ -0,0 +1,468 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @description: 随机示例数据, 按字段名和注释猜测取值. 同一个种子生成的文档相同, 用于压测数据
+ * @date: 2026/10/18
+ */
+public class RandomSampleEmitter implements JsonEmitter {
+
+    /**
+     * 日期在 2020-01-01 之后的十年内
+     */
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private static final long TIME_RANGE_SECONDS = 10L * 365 * 24 * 3600;
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final String[] NAMES = {"Alice", "Bob", "Carol", "David", "Emma", "Frank", "Grace", "Henry", "Ivy", "Jack"};
+
+    private static final String[] CITIES = {"Beijing", "Shanghai", "Hangzhou", "Shenzhen", "Chengdu", "Wuhan", "Nanjing", "Xi'an"};
+
+    private static final String ALPHANUMERIC = "ABCDEFGHJKLMNPQRSTUVWXYZ0123456789";
+
+    /**
+     * 按优先级排列, 英文关键字与字段名拆分后的单词比较, 中文关键字在注释中查找
+     */
+    enum Hint {
+        EMAIL(new String[]{"email", "mail"}, "邮箱"),
+        PHONE(new String[]{"phone", "mobile", "tel", "telephone"}, "手机", "电话"),
+        URL(new String[]{"url", "link", "href", "avatar", "image", "img", "icon"}, "链接", "图片", "头像"),
+        IP(new String[]{"ip"}),
+        ADDRESS(new String[]{"address", "addr", "street"}, "地址"),
+        CITY(new String[]{"city"}, "城市"),
+        NAME(new String[]{"name", "nickname", "username"}, "姓名", "名称", "名字"),
+        CODE(new String[]{"code", "no", "number", "sn", "sku"}, "编号", "编码", "单号"),
+        ID(new String[]{"id", "uid"}),
+        AGE(new String[]{"age"}, "年龄"),
+        YEAR(new String[]{"year"}, "年份"),
+        STATUS(new String[]{"status", "state", "type", "level", "kind"}, "状态", "类型"),
+        COUNT(new String[]{"count", "num", "qty", "quantity", "total", "size", "stock"}, "数量", "总数"),
+        PRICE(new String[]{"price", "amount", "fee", "cost", "balance", "money"}, "金额", "价格"),
+        RATE(new String[]{"rate", "ratio", "percent", "percentage"}, "比例", "比率"),
+        LATITUDE(new String[]{"lat", "latitude"}, "纬度"),
+        LONGITUDE(new String[]{"lng", "lon", "longitude"}, "经度"),
+        NONE(new String[0]);
+
+        private final Set<String> words;
+
+        private final String[] remarks;
+
+        Hint(String[] words, String... remarks) {
+            this.words = new HashSet<>(Arrays.asList(words));
+            this.remarks = remarks;
+        }
+
+        static Hint of(FieldModel field) {
+            List<String> tokens = tokens(field.getName());
+            for (Hint hint : values()) {
+                for (String token : tokens) {
+                    if (hint.words.contains(token)) {
+                        return hint;
+                    }
+                }
+                for (String remark : hint.remarks) {
+                    if (field.getRemark().contains(remark)) {
+                        return hint;
+                    }
+                }
+            }
+            return NONE;
+        }
+
+        /**
+         * userEmail / user_email -> [user, email]
+         */
+        private static List<String> tokens(String name) {
+            List<String> tokens = new ArrayList<>();
+            StringBuilder token = new StringBuilder();
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '_' || c == '-' || Character.isUpperCase(c)) {
+                    if (token.length() > 0) {
+                        tokens.add(token.toString());
+                        token.setLength(0);
+                    }
+                    if (c == '_' || c == '-') {
+                        continue;
+                    }
+                }
+                token.append(Character.toLowerCase(c));
+            }
+            if (token.length() > 0) {
+                tokens.add(token.toString());
+            }
+            return tokens;
+        }
+    }
+
+    private final GenerationProfile profile;
+
+    private final long seed;
+
+    private final int minItems;
+
+    private final int maxItems;
+
+    /**
+     * 字段 -> 取值提示, 多个线程共用
+     */
+    private final Map<FieldModel, Hint> hints = new ConcurrentHashMap<>();
+
+    /**
+     * @param seed 种子, 第 i 个文档使用 {@link #documentSeed(long, long)}.
+     * @param minItems 集合和 Map 的最少元素个数.
+     * @param maxItems 集合和 Map 的最多元素个数.
+     */
+    public RandomSampleEmitter(GenerationProfile profile, long seed, int minItems, int maxItems) {
+        if (minItems < 0 || maxItems < minItems) {
+            throw new IllegalArgumentException("Invalid item range " + minItems + ".." + maxItems);
+        }
+        this.profile = profile;
+        this.seed = seed;
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 第 index 个文档的种子, 与生成顺序和线程无关
+     */
+    public static long documentSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public void write(TypeModel model, JsonWriter out, List<String> warnings) throws IOException {
+        write(model, out, warnings, documentSeed(seed, 0));
+    }
+
+    /**
+     * 线程安全, 每次调用使用各自的随机数.
+     */
+    public void write(TypeModel model, JsonWriter out, List<String> warnings, long documentSeed) throws IOException {
+        Walker walker = new Walker(model, out, profile, new SplittableRandom(documentSeed));
+        walker.walk(model.getRoot(), "");
+        if (walker.isTruncated() || model.isTruncated()) {
+            warnings.add(TRUNCATED);
+        }
+    }
+
+    private class Walker extends FieldWalker {
+        private final SplittableRandom random;
+
+        Walker(TypeModel model, JsonWriter out, GenerationProfile profile, SplittableRandom random) {
+            super(model, out, profile);
+            this.random = random;
+        }
+
+        @Override
+        protected void writeField(FieldModel field) throws IOException {
+            out.name(nameOf(field));
+            value(field.getType(), hints.computeIfAbsent(field, Hint::of), "");
+        }
+
+        private void value(TypeRef type, Hint hint, String closers) throws IOException {
+            switch (type.getKind()) {
+                case PRIMITIVE:
+                case NORMAL:
+                    scalar(type.getName(), hint);
+                    close(closers);
+                    break;
+                case ENUM:
+                    List<String> constants = type.getConstants();
+                    if (constants.isEmpty()) {
+                        out.nullValue();
+                    } else {
+                        out.value(constants.get(random.nextInt(constants.size())));
+                    }
+                    close(closers);
+                    break;
+                case ARRAY:
+                case COLLECTION:
+                    out.beginArray();
+                    elements(type.getElement(), hint, "]" + closers);
+                    break;
+                case MAP:
+                    out.beginObject();
+                    entries(type, hint, "}" + closers);
+                    break;
+                case OBJECT:
+                    ClassModel node = model.get(type.getClassKey());
+                    if (node == null || isBackReference(node)) {
+                        out.nullValue();
+                        close(closers);
+                    } else {
+                        descend(node, closers);
+                    }
+                    break;
+                default:
+                    out.nullValue();
+                    close(closers);
+            }
+        }
+
+        /**
+         * 对象元素通过 descend 连续写出. 元素本身是含对象的集合/Map 时, 每个元素写完后通过 resumeAfter 接着写下一个.
+         */
+        private void elements(TypeRef element, Hint hint, String closers) throws IOException {
+            int size = size();
+            if (element.getKind() == TypeRef.Kind.OBJECT) {
+                ClassModel node = model.get(element.getClassKey());
+                descend(node, closers, node == null || isBackReference(node) ? 0 : size);
+                return;
+            }
+            elements(element, hint, size, closers);
+        }
+
+        /**
+         * 写出剩下的 count 个元素
+         */
+        private void elements(TypeRef element, Hint hint, int count, String closers) throws IOException {
+            if (count == 0) {
+                close(closers);
+                return;
+            }
+            boolean nested = containsObject(element);
+            for (int i = count; i > 1; i--) {
+                if (nested) {
+                    int rest = i - 1;
+                    resumeAfter(() -> elements(element, hint, rest, closers));
+                    value(element, hint, "");
+                    return;
+                }
+                value(element, hint, "");
+            }
+            value(element, hint, closers);
+        }
+
+        private void entries(TypeRef type, Hint hint, String closers) throws IOException {
+            int size = size();
+            if (type.getKey().getKind() == TypeRef.Kind.ENUM && !type.getKey().getConstants().isEmpty()) {
+                size = Math.min(size, type.getKey().getConstants().size());
+            }
+            entries(type, hint, 0, size, new HashSet<>(), closers);
+        }
+
+        /**
+         * 写出第 from 个及之后的 entry, keys 为已经写出的 key
+         */
+        private void entries(TypeRef type, Hint hint, int from, int size, Set<String> keys, String closers) throws IOException {
+            if (from >= size) {
+                close(closers);
+                return;
+            }
+            boolean nested = containsObject(type.getElement());
+            for (int i = from; i < size; i++) {
+                String key = key(type.getKey(), i);
+                if (!keys.add(key)) {
+                    key = key + i;
+                    keys.add(key);
+                }
+                out.name(key);
+                if (i == size - 1) {
+                    value(type.getElement(), hint, closers);
+                } else if (nested) {
+                    int next = i + 1;
+                    resumeAfter(() -> entries(type, hint, next, size, keys, closers));
+                    value(type.getElement(), hint, "");
+                    return;
+                } else {
+                    value(type.getElement(), hint, "");
+                }
+            }
+        }
+
+        private boolean containsObject(TypeRef type) {
+            switch (type.getKind()) {
+                case OBJECT:
+                    return true;
+                case ARRAY:
+                case COLLECTION:
+                case MAP:
+                    return containsObject(type.getElement());
+                default:
+                    return false;
+            }
+        }
+
+        private int size() {
+            return minItems + random.nextInt(maxItems - minItems + 1);
+        }
+
+        private String key(TypeRef key, int index) {
+            switch (key.getKind()) {
+                case ENUM:
+                    List<String> constants = key.getConstants();
+                    return constants.isEmpty() ? key.getName() : constants.get(index % constants.size());
+                case PRIMITIVE:
+                case NORMAL:
+                    if ("String".equals(key.getName())) {
+                        return word(4, 8);
+                    }
+                    return String.valueOf(random.nextInt(10000));
+                default:
+                    return "key" + index;
+            }
+        }
+
+        private void scalar(String typeName, Hint hint) throws IOException {
+            switch (typeName) {
+                case "boolean":
+                case "Boolean":
+                    out.value(random.nextBoolean());
+                    break;
+                case "byte":
+                case "Byte":
+                    out.value(random.nextInt(128));
+                    break;
+                case "short":
+                case "Short":
+                    out.value(random.nextInt(1000));
+                    break;
+                case "int":
+                case "Integer":
+                case "long":
+                case "Long":
+                case "BigInteger":
+                    out.value(integer(hint, "int".equals(typeName) || "Integer".equals(typeName)));
+                    break;
+                case "float":
+                case "Float":
+                case "double":
+                case "Double":
+                case "BigDecimal":
+                    out.value(decimal(hint));
+                    break;
+                case "char":
+                case "Character":
+                    out.value(String.valueOf((char) ('a' + random.nextInt(26))));
+                    break;
+                case "Date":
+                case "LocalDateTime":
+                case "Instant":
+                    out.value(profile.getDateFormatter().format(dateTime()));
+                    break;
+                case "LocalDate":
+                    out.value(DateTimeFormatter.ISO_LOCAL_DATE.format(dateTime()));
+                    break;
+                case "LocalTime":
+                    out.value(TIME_FORMATTER.format(dateTime()));
+                    break;
+                case "UUID":
+                    out.value(new UUID(random.nextLong(), random.nextLong()).toString());
+                    break;
+                case "String":
+                    out.value(text(hint));
+                    break;
+                default:
+                    out.nullValue();
+            }
+        }
+
+        private long integer(Hint hint, boolean intRange) {
+            switch (hint) {
+                case AGE:
+                    return 1 + random.nextInt(90);
+                case YEAR:
+                    return 1990 + random.nextInt(41);
+                case STATUS:
+                    return random.nextInt(6);
+                case COUNT:
+                    return random.nextInt(1001);
+                case ID:
+                    return 1 + (intRange ? random.nextInt(1_000_000) : random.nextLong(1_000_000_000_000L));
+                default:
+                    return random.nextInt(10001);
+            }
+        }
+
+        private BigDecimal decimal(Hint hint) {
+            switch (hint) {
+                case RATE:
+                    return BigDecimal.valueOf(random.nextDouble()).setScale(4, RoundingMode.HALF_UP);
+                case LATITUDE:
+                    return BigDecimal.valueOf(random.nextDouble(-90, 90)).setScale(6, RoundingMode.HALF_UP);
+                case LONGITUDE:
+                    return BigDecimal.valueOf(random.nextDouble(-180, 180)).setScale(6, RoundingMode.HALF_UP);
+                case PRICE:
+                    return BigDecimal.valueOf(random.nextDouble(0.01, 10000)).setScale(2, RoundingMode.HALF_UP);
+                default:
+                    return BigDecimal.valueOf(random.nextDouble(0, 1000)).setScale(2, RoundingMode.HALF_UP);
+            }
+        }
+
+        private LocalDateTime dateTime() {
+            return BASE_TIME.plusSeconds(random.nextLong(TIME_RANGE_SECONDS));
+        }
+
+        private String text(Hint hint) {
+            switch (hint) {
+                case EMAIL:
+                    return word(4, 10) + "@example.com";
+                case PHONE:
+                    return "1" + digits(10);
+                case URL:
+                    return "https://example.com/" + word(4, 12);
+                case IP:
+                    return random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+                case ADDRESS:
+                    return (1 + random.nextInt(999)) + " " + capitalize(word(4, 10)) + " Street";
+                case CITY:
+                    return CITIES[random.nextInt(CITIES.length)];
+                case NAME:
+                    return NAMES[random.nextInt(NAMES.length)];
+                case CODE:
+                case ID:
+                    return code(10);
+                case STATUS:
+                    return word(3, 8).toUpperCase(Locale.ROOT);
+                default:
+                    return word(4, 12);
+            }
+        }
+
+        private String word(int minLength, int maxLength) {
+            int length = minLength + random.nextInt(maxLength - minLength + 1);
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(26));
+            }
+            return new String(chars);
+        }
+
+        private String digits(int length) {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) ('0' + random.nextInt(10));
+            }
+            return new String(chars);
+        }
+
+        private String code(int length) {
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length()));
+            }
+            return new String(chars);
+        }
+
+        private String capitalize(String word) {
+            return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+    }
+}
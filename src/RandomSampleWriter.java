@@ -0,0 +1,99 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * @description: 并行生成 count 个随机文档, 按顺序以 JSON Lines 写出. 每块文档在线程池中生成, 同时在途的块数有上限, 内存占用与 count 无关
+ * @date: 2026/10/18
+ */
+public class RandomSampleWriter {
+
+    private static final int CHUNK_SIZE = 256;
+
+    public interface Progress {
+        /**
+         * 在调用 write 的线程中调用, 抛出运行时异常可以中止生成.
+         */
+        void written(int documents);
+    }
+
+    private final RandomSampleEmitter emitter;
+
+    private final JsonOptions options;
+
+    private final int threads;
+
+    public RandomSampleWriter(RandomSampleEmitter emitter, JsonOptions options, int threads) {
+        this.emitter = emitter;
+        // 每行一个文档
+        this.options = options.withIndent("");
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * @param warnings 线程安全的集合.
+     */
+    public void write(TypeModel model, int count, Writer writer, Progress progress, Set<String> warnings) throws IOException {
+        if (threads == 1) {
+            for (int from = 0; from < count; from += CHUNK_SIZE) {
+                writer.write(chunk(model, from, Math.min(count, from + CHUNK_SIZE), warnings));
+                progress.written(Math.min(count, from + CHUNK_SIZE));
+            }
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            Deque<Future<String>> pending = new ArrayDeque<>();
+            int next = 0;
+            int written = 0;
+            while (written < count) {
+                while (next < count && pending.size() < threads * 2) {
+                    int from = next;
+                    int to = Math.min(count, next + CHUNK_SIZE);
+                    pending.add(pool.submit(() -> chunk(model, from, to, warnings)));
+                    next = to;
+                }
+                writer.write(get(pending.poll()));
+                written = Math.min(count, written + CHUNK_SIZE);
+                progress.written(written);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private String chunk(TypeModel model, int from, int to, Set<String> warnings) throws IOException {
+        StringWriter buffer = new StringWriter();
+        List<String> chunkWarnings = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            JsonWriter out = options.newWriter(buffer);
+            emitter.write(model, out, chunkWarnings, RandomSampleEmitter.documentSeed(emitter.getSeed(), i));
+            out.flush();
+            buffer.write('\n');
+        }
+        warnings.addAll(chunkWarnings);
+        return buffer.toString();
+    }
+
+    private static String get(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationGroup;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.psi.PsiClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * @description: 生成 count 个随机文档直接写入文件, 建模在读操作中, 生成在读操作之外并行进行
+ * @date: 2026/10/18
+ */
+public class RandomSamplesTask extends Task.Backgroundable {
+
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private final PsiClass psiClass;
+
+    private final String className;
+
+    private final int count;
+
+    private final File target;
+
+    private final NotificationGroup notificationGroup;
+
+    private final GenerationProfile profile;
+
+    private final RandomSampleEmitter emitter;
+
+    private final Set<String> warnings = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    private final ConversionStats stats = new ConversionStats();
+
+    public RandomSamplesTask(Project project, PsiClass psiClass, int count, File target, NotificationGroup notificationGroup) {
+        super(project, "Generating " + count + " " + psiClass.getName() + " samples", true);
+        this.psiClass = psiClass;
+        this.className = psiClass.getName();
+        this.count = count;
+        this.target = target;
+        this.notificationGroup = notificationGroup;
+        this.profile = PojoToJsonSettings.getInstance().getProfile();
+        this.emitter = PojoToJsonSettings.getInstance().newRandomEmitter(profile);
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        indicator.setIndeterminate(true);
+        indicator.setText("Converting " + className);
+        long start = System.nanoTime();
+        TypeModel model = ReadAction.compute(() -> new TypeModelBuilder(profile, stats).build(psiClass));
+        long modelNanos = System.nanoTime() - start;
+        indicator.setIndeterminate(false);
+        indicator.setText("Writing " + target.getName());
+        RandomSampleWriter sampleWriter = new RandomSampleWriter(emitter, profile.getJsonOptions(), THREADS);
+        try {
+            FileSink.write(target.toPath(), writer -> {
+                long emitStart = System.nanoTime();
+                ConversionStats.CountingWriter counter = new ConversionStats.CountingWriter(writer);
+                sampleWriter.write(model, count, counter, written -> {
+                    indicator.checkCanceled();
+                    indicator.setFraction((double) written / count);
+                }, warnings);
+                long emitNanos = System.nanoTime() - emitStart;
+                stats.addTime(ConversionStats.Phase.EMIT, emitNanos);
+                stats.addOutputBytes(counter.getBytes());
+                stats.root(target.getName(), model.getClasses().size(), modelNanos + emitNanos, counter.getBytes());
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Write " + target.getPath() + " failed: " + e.getMessage(), e);
+        }
+        stats.finish();
+    }
+
+    @Override
+    public void onSuccess() {
+        LocalFileSystem.getInstance().refreshIoFiles(Collections.singletonList(target));
+        notify("Generated " + count + " " + className + " samples, written to " + target.getPath() + ".", NotificationType.INFORMATION);
+        for (String warning : warnings) {
+            notify(warning, NotificationType.WARNING);
+        }
+        ConversionReport.publish(myProject, notificationGroup, stats, target.getName());
+    }
+
+    @Override
+    public void onThrowable(@NotNull Throwable error) {
+        notify("Generate samples failed: " + error.getMessage(), NotificationType.ERROR);
+    }
+
+    private void notify(String message, NotificationType type) {
+        Notification notification = notificationGroup.createNotification(message, type);
+        Notifications.Bus.notify(notification, myProject);
+    }
+}
@@ -0,0 +1,547 @@
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @description: 不依赖 IDE, 通过反射从编译后的类生成与 TypeModelBuilder 相同的 TypeModel
+ * @date: 2026/10/18
+ */
+public class ReflectionModelBuilder {
+
+    private final GenerationProfile profile;
+
+    private final ConversionStats stats;
+
+    private final int maxDepth;
+
+    private final int maxNodes;
+
+    /**
+     * 多个根类、多个线程共用, 按泛型实例的 key
+     */
+    private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, TypeCategory> categories = new ConcurrentHashMap<>();
+
+    private final ModelInterner interner = new ModelInterner();
+
+    public ReflectionModelBuilder() {
+        this(GenerationProfile.DEFAULT);
+    }
+
+    public ReflectionModelBuilder(GenerationProfile profile) {
+        this(profile, new ConversionStats());
+    }
+
+    public ReflectionModelBuilder(GenerationProfile profile, ConversionStats stats) {
+        this(profile, stats, profile.getMaxDepth(), profile.getMaxNodes());
+    }
+
+    public ReflectionModelBuilder(int maxDepth, int maxNodes) {
+        this(GenerationProfile.DEFAULT, new ConversionStats(), maxDepth, maxNodes);
+    }
+
+    private ReflectionModelBuilder(GenerationProfile profile, ConversionStats stats, int maxDepth, int maxNodes) {
+        this.profile = profile;
+        this.stats = stats;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * 线程安全. 按广度优先展开, 每个类的每种泛型实例只解析一次. 耗时计入 stats 的 RESOLVE.
+     */
+    public TypeModel build(Class<?> root) {
+        long start = System.nanoTime();
+        try {
+            return doBuild(root);
+        } finally {
+            stats.addTime(ConversionStats.Phase.RESOLVE, System.nanoTime() - start);
+        }
+    }
+
+    private TypeModel doBuild(Class<?> root) {
+        Map<String, ClassModel> classes = new LinkedHashMap<>();
+        Deque<Type> queue = new ArrayDeque<>();
+        Map<String, Integer> depths = new HashMap<>();
+        queue.add(root);
+        depths.put(keyOf(root), 0);
+        boolean truncated = false;
+        while (!queue.isEmpty()) {
+            Type type = queue.poll();
+            String key = keyOf(type);
+            if (classes.containsKey(key)) {
+                continue;
+            }
+            int depth = depths.get(key);
+            if (depth > maxDepth || classes.size() >= maxNodes) {
+                truncated = true;
+                continue;
+            }
+            Entry entry = cache.get(key);
+            if (entry == null) {
+                stats.cacheMiss();
+                entry = cache.computeIfAbsent(key, k -> buildClass(type, k));
+            } else {
+                stats.cacheHit();
+            }
+            classes.put(key, entry.model);
+            stats.visited(depth);
+            for (Type reference : entry.references) {
+                String referenceKey = keyOf(reference);
+                if (!depths.containsKey(referenceKey)) {
+                    depths.put(referenceKey, depth + 1);
+                    queue.add(reference);
+                }
+            }
+        }
+        return new TypeModel(keyOf(root), classes, truncated);
+    }
+
+    public static String keyOf(Class<?> type) {
+        String canonicalName = type.getCanonicalName();
+        return canonicalName != null ? canonicalName : type.getName();
+    }
+
+    /**
+     * 与 TypeModelBuilder.keyOf(PsiClass, PsiSubstitutor) 一致, 如 com.foo.PageResult&lt;com.foo.OrderDTO&gt;.
+     * 类型参数没有绑定时与 {@link #keyOf(Class)} 相同.
+     */
+    public static String keyOf(Type type) {
+        Class<?> rawType = rawType(type);
+        String key = keyOf(rawType);
+        if (!(type instanceof ParameterizedType)) {
+            return key;
+        }
+        TypeVariable<?>[] parameters = rawType.getTypeParameters();
+        Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        StringBuilder builder = new StringBuilder();
+        boolean bound = false;
+        for (int i = 0; i < parameters.length; i++) {
+            String text = i < arguments.length ? canonicalText(arguments[i]) : parameters[i].getName();
+            bound |= !parameters[i].getName().equals(text);
+            builder.append(i == 0 ? "<" : ",").append(text);
+        }
+        return bound ? key + builder + ">" : key;
+    }
+
+    private Entry buildClass(Type type, String key) {
+        Class<?> rawType = rawType(type);
+        Map<TypeVariable<?>, Type> bindings = bindings(type);
+        List<FieldModel> fields = new ArrayList<>();
+        List<Type> references = new ArrayList<>();
+        for (Field field : allFields(rawType)) {
+            boolean staticField = Modifier.isStatic(field.getModifiers());
+            boolean transientField = Modifier.isTransient(field.getModifiers());
+            if (!profile.includes(staticField, transientField) || isIgnored(field)) {
+                continue;
+            }
+            TypeRef typeRef;
+            try {
+                typeRef = classify(substitute(field.getGenericType(), bindings), references);
+            } catch (TypeNotPresentException | LinkageError | MalformedParameterizedTypeException e) {
+                typeRef = TypeRef.unknown(field.getType().getSimpleName());
+            }
+            fields.add(interner.intern(new FieldModel(field.getName(), interner.intern(typeRef), "", jsonNameOf(field),
+                    staticField, transientField, findAnnotation(field, JsonAnnotations.REQUIRED) != null)));
+        }
+        return new Entry(new ClassModel(key, rawType.getSimpleName(), fields), references);
+    }
+
+    /**
+     * 本类及父类、接口的类型参数在 type 这个实例下的绑定, 相当于 PsiSubstitutor.
+     * 父类中声明的字段也用这个绑定, 如 class OrderPage extends PageResult&lt;Order&gt; 中的 rows
+     */
+    private static Map<TypeVariable<?>, Type> bindings(Type type) {
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        Class<?> rawType = rawType(type);
+        if (type instanceof ParameterizedType) {
+            bind(rawType, ((ParameterizedType) type).getActualTypeArguments(), bindings);
+        }
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(rawType);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (current == Object.class || !visited.add(current)) {
+                continue;
+            }
+            List<Type> supertypes = new ArrayList<>(Arrays.asList(current.getGenericInterfaces()));
+            if (current.getGenericSuperclass() != null) {
+                supertypes.add(0, current.getGenericSuperclass());
+            }
+            for (Type supertype : supertypes) {
+                Class<?> superClass = rawType(supertype);
+                if (superClass == null) {
+                    continue;
+                }
+                if (supertype instanceof ParameterizedType) {
+                    Type[] arguments = ((ParameterizedType) supertype).getActualTypeArguments();
+                    Type[] substituted = new Type[arguments.length];
+                    for (int i = 0; i < arguments.length; i++) {
+                        substituted[i] = substitute(arguments[i], bindings);
+                    }
+                    bind(superClass, substituted, bindings);
+                }
+                pending.add(superClass);
+            }
+        }
+        return bindings;
+    }
+
+    private static void bind(Class<?> type, Type[] arguments, Map<TypeVariable<?>, Type> bindings) {
+        TypeVariable<?>[] parameters = type.getTypeParameters();
+        for (int i = 0; i < parameters.length && i < arguments.length; i++) {
+            // class Node<T> { Node<T> next; } 中原样传回的类型参数不算绑定
+            if (!parameters[i].equals(arguments[i])) {
+                bindings.put(parameters[i], arguments[i]);
+            }
+        }
+    }
+
+    /**
+     * 把 type 中已绑定的类型参数替换掉, 没有绑定的保持原样, 之后按未知类型处理
+     */
+    private static Type substitute(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (bindings.isEmpty()) {
+            return type;
+        }
+        if (type instanceof TypeVariable) {
+            Type bound = bindings.get(type);
+            return bound == null ? type : bound;
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type[] arguments = parameterized.getActualTypeArguments();
+            Type[] substituted = new Type[arguments.length];
+            boolean changed = false;
+            for (int i = 0; i < arguments.length; i++) {
+                substituted[i] = substitute(arguments[i], bindings);
+                changed |= substituted[i] != arguments[i];
+            }
+            return changed ? new Parameterized((Class<?>) parameterized.getRawType(), substituted, parameterized.getOwnerType()) : type;
+        }
+        if (type instanceof GenericArrayType) {
+            Type component = ((GenericArrayType) type).getGenericComponentType();
+            Type substituted = substitute(component, bindings);
+            return substituted == component ? type : new GenericArray(substituted);
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            Type[] upper = wildcard.getUpperBounds();
+            Type[] lower = wildcard.getLowerBounds();
+            Type[] substitutedUpper = new Type[upper.length];
+            Type[] substitutedLower = new Type[lower.length];
+            boolean changed = false;
+            for (int i = 0; i < upper.length; i++) {
+                substitutedUpper[i] = substitute(upper[i], bindings);
+                changed |= substitutedUpper[i] != upper[i];
+            }
+            for (int i = 0; i < lower.length; i++) {
+                substitutedLower[i] = substitute(lower[i], bindings);
+                changed |= substitutedLower[i] != lower[i];
+            }
+            return changed ? new Wildcard(substitutedUpper, substitutedLower) : type;
+        }
+        return type;
+    }
+
+    /**
+     * 与 PsiClass.getAllFields() 一致: 本类, 父类, 接口中的常量.
+     */
+    private static List<Field> allFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (current == Object.class || !visited.add(current)) {
+                continue;
+            }
+            for (Field field : current.getDeclaredFields()) {
+                if (!field.isSynthetic()) {
+                    fields.add(field);
+                }
+            }
+            if (current.getSuperclass() != null) {
+                pending.add(current.getSuperclass());
+            }
+            pending.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return fields;
+    }
+
+    private TypeRef classify(Type type, List<Type> references) {
+        if (type instanceof Class && ((Class<?>) type).isPrimitive()) {
+            return TypeRef.primitive(presentableText(type));
+        }
+        if (type instanceof WildcardType) {
+            return classify(((WildcardType) type).getUpperBounds()[0], references);
+        }
+        String typeName = presentableText(type);
+        if (type instanceof GenericArrayType || (type instanceof Class && ((Class<?>) type).isArray())) {
+            return TypeRef.array(typeName, classify(deepComponentType(type), references));
+        }
+        Class<?> rawType = rawType(type);
+        if (rawType == null) {
+            return TypeRef.unknown(typeName);
+        }
+        // 类型参数已在 buildClass 中按当前实例替换
+        Type[] arguments = type instanceof ParameterizedType ? ((ParameterizedType) type).getActualTypeArguments() : new Type[0];
+        switch (categories.computeIfAbsent(rawType, this::categoryOf)) {
+            case NORMAL:
+                return TypeRef.normal(typeName);
+            case ENUM:
+                return TypeRef.enumeration(typeName, constantsOf(rawType));
+            case OPTIONAL:
+                return arguments.length == 1 ? classify(arguments[0], references) : TypeRef.unknown(typeName);
+            case COLLECTION:
+                TypeRef element = arguments.length == 1 ? classify(arguments[0], references) : TypeRef.unknown("Object");
+                return TypeRef.collection(typeName, element);
+            case MAP:
+                if (arguments.length != 2) {
+                    return TypeRef.map(typeName, TypeRef.unknown("Object"), TypeRef.unknown("Object"));
+                }
+                return TypeRef.map(typeName, classify(arguments[0], references), classify(arguments[1], references));
+            default:
+                references.add(type);
+                return TypeRef.object(typeName, keyOf(type));
+        }
+    }
+
+    /**
+     * 与 TypeClassifier 一致, 按标量处理的类型取自 profile
+     */
+    private TypeCategory categoryOf(Class<?> type) {
+        Set<String> normalTypes = profile.getNormalTypes();
+        if (normalTypes.contains(type.getName()) || normalTypes.contains(type.getSimpleName())) {
+            return TypeCategory.NORMAL;
+        }
+        if (type == Optional.class) {
+            return TypeCategory.OPTIONAL;
+        }
+        if (type.isEnum()) {
+            return TypeCategory.ENUM;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return TypeCategory.MAP;
+        }
+        if (Iterable.class.isAssignableFrom(type)) {
+            return TypeCategory.COLLECTION;
+        }
+        return TypeCategory.OBJECT;
+    }
+
+    /**
+     * 不调用 getEnumConstants, 避免执行枚举的静态初始化
+     */
+    private static List<String> constantsOf(Class<?> type) {
+        List<String> constants = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isEnumConstant()) {
+                constants.add(field.getName());
+            }
+        }
+        return constants;
+    }
+
+    private static Type deepComponentType(Type type) {
+        while (true) {
+            if (type instanceof GenericArrayType) {
+                type = ((GenericArrayType) type).getGenericComponentType();
+            } else if (type instanceof Class && ((Class<?>) type).isArray()) {
+                type = ((Class<?>) type).getComponentType();
+            } else {
+                return type;
+            }
+        }
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return null;
+    }
+
+    /**
+     * 与 PsiType.getCanonicalText() 一致, 如 java.util.List&lt;com.foo.Address&gt;, 类型参数之间没有空格
+     */
+    static String canonicalText(Type type) {
+        if (type instanceof Class) {
+            Class<?> rawType = (Class<?>) type;
+            return rawType.isArray() ? canonicalText(rawType.getComponentType()) + "[]" : keyOf(rawType);
+        }
+        if (type instanceof ParameterizedType) {
+            StringBuilder builder = new StringBuilder(canonicalText(((ParameterizedType) type).getRawType())).append('<');
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            for (int i = 0; i < arguments.length; i++) {
+                builder.append(i == 0 ? "" : ",").append(canonicalText(arguments[i]));
+            }
+            return builder.append('>').toString();
+        }
+        if (type instanceof GenericArrayType) {
+            return canonicalText(((GenericArrayType) type).getGenericComponentType()) + "[]";
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            if (wildcard.getLowerBounds().length > 0) {
+                return "? super " + canonicalText(wildcard.getLowerBounds()[0]);
+            }
+            Type upper = wildcard.getUpperBounds()[0];
+            return upper == Object.class ? "?" : "? extends " + canonicalText(upper);
+        }
+        return type.getTypeName();
+    }
+
+    /**
+     * 与 PsiType.getPresentableText() 一致, 如 List&lt;Address&gt;, Map&lt;String, Object&gt;, int[]
+     */
+    static String presentableText(Type type) {
+        if (type instanceof Class) {
+            return ((Class<?>) type).getSimpleName();
+        }
+        if (type instanceof ParameterizedType) {
+            StringBuilder builder = new StringBuilder(presentableText(((ParameterizedType) type).getRawType())).append('<');
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            for (int i = 0; i < arguments.length; i++) {
+                builder.append(i == 0 ? "" : ", ").append(presentableText(arguments[i]));
+            }
+            return builder.append('>').toString();
+        }
+        if (type instanceof GenericArrayType) {
+            return presentableText(((GenericArrayType) type).getGenericComponentType()) + "[]";
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            if (wildcard.getLowerBounds().length > 0) {
+                return "? super " + presentableText(wildcard.getLowerBounds()[0]);
+            }
+            Type upper = wildcard.getUpperBounds()[0];
+            return upper == Object.class ? "?" : "? extends " + presentableText(upper);
+        }
+        return type.getTypeName();
+    }
+
+    private static String jsonNameOf(Field field) {
+        Annotation annotation = findAnnotation(field, JsonAnnotations.NAME);
+        if (annotation != null) {
+            return (String) attribute(annotation, "value");
+        }
+        annotation = findAnnotation(field, JsonAnnotations.JSON_FIELD);
+        return annotation == null ? null : (String) attribute(annotation, "name");
+    }
+
+    private static boolean isIgnored(Field field) {
+        Annotation ignore = findAnnotation(field, JsonAnnotations.IGNORE);
+        if (ignore != null && !Boolean.FALSE.equals(attribute(ignore, "value"))) {
+            return true;
+        }
+        Annotation jsonField = findAnnotation(field, JsonAnnotations.JSON_FIELD);
+        return jsonField != null && Boolean.FALSE.equals(attribute(jsonField, "serialize"));
+    }
+
+    /**
+     * 注解类不一定在 classpath 上, 按名字匹配
+     */
+    private static Annotation findAnnotation(Field field, String[] names) {
+        for (Annotation annotation : field.getAnnotations()) {
+            for (String name : names) {
+                if (name.equals(annotation.annotationType().getName())) {
+                    return annotation;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 没有该属性时返回 null
+     */
+    private static Object attribute(Annotation annotation, String name) {
+        try {
+            return annotation.annotationType().getMethod(name).invoke(annotation);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        final ClassModel model;
+        final List<Type> references;
+
+        Entry(ClassModel model, List<Type> references) {
+            this.model = model;
+            this.references = references;
+        }
+    }
+
+    /**
+     * 替换类型参数后的 List&lt;Address&gt; 等, 只用于取类型名和 key
+     */
+    private static final class Parameterized implements ParameterizedType {
+        private final Class<?> rawType;
+        private final Type[] arguments;
+        private final Type ownerType;
+
+        Parameterized(Class<?> rawType, Type[] arguments, Type ownerType) {
+            this.rawType = rawType;
+            this.arguments = arguments;
+            this.ownerType = ownerType;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return ownerType;
+        }
+    }
+
+    private static final class GenericArray implements GenericArrayType {
+        private final Type component;
+
+        GenericArray(Type component) {
+            this.component = component;
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return component;
+        }
+    }
+
+    private static final class Wildcard implements WildcardType {
+        private final Type[] upper;
+        private final Type[] lower;
+
+        Wildcard(Type[] upper, Type[] lower) {
+            this.upper = upper;
+            this.lower = lower;
+        }
+
+        @Override
+        public Type[] getUpperBounds() {
+            return upper.clone();
+        }
+
+        @Override
+        public Type[] getLowerBounds() {
+            return lower.clone();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @description: 基本json, 字段取默认值
+ * @date: 2026/10/18
+ */
+public class SampleJsonEmitter implements JsonEmitter {
+
+    private final GenerationProfile profile;
+
+    /**
+     * 类型简单名 -> 示例值, 日期在创建时取当前时间
+     */
+    private final Map<String, Object> normalTypes;
+
+    public SampleJsonEmitter() {
+        this(GenerationProfile.DEFAULT);
+    }
+
+    public SampleJsonEmitter(GenerationProfile profile) {
+        this.profile = profile;
+        this.normalTypes = profile.sampleValues();
+    }
+
+    @Override
+    public void write(TypeModel model, JsonWriter out, List<String> warnings) throws IOException {
+        Walker walker = new Walker(model, out, profile, normalTypes);
+        walker.walk(model.getRoot(), "");
+        if (walker.isTruncated() || model.isTruncated()) {
+            warnings.add(TRUNCATED);
+        }
+    }
+
+    static void writeValue(JsonWriter out, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else if (value instanceof Number) {
+            out.value((Number) value);
+        } else if (value instanceof Boolean) {
+            out.value((boolean) (Boolean) value);
+        } else {
+            out.value(String.valueOf(value));
+        }
+    }
+
+    private static class Walker extends FieldWalker {
+        private final Map<String, Object> normalTypes;
+
+        Walker(TypeModel model, JsonWriter out, GenerationProfile profile, Map<String, Object> normalTypes) {
+            super(model, out, profile);
+            this.normalTypes = normalTypes;
+        }
+
+        @Override
+        protected void writeField(FieldModel field) throws IOException {
+            out.name(nameOf(field));
+            value(field.getType(), "");
+        }
+
+        private void value(TypeRef type, String closers) throws IOException {
+            switch (type.getKind()) {
+                case PRIMITIVE:
+                    if (normalTypes.containsKey(type.getName())) {
+                        writeValue(out, normalTypes.get(type.getName()));
+                    } else {
+                        // 与 PsiTypesUtil.getDefaultValueOfType 一致
+                        out.value("boolean".equals(type.getName()) ? "false" : "0");
+                    }
+                    close(closers);
+                    break;
+                case NORMAL:
+                    writeValue(out, normalTypes.get(type.getName()));
+                    close(closers);
+                    break;
+                case ENUM:
+                    writeValue(out, type.getConstants().isEmpty() ? null : type.getConstants().get(0));
+                    close(closers);
+                    break;
+                case ARRAY:
+                case COLLECTION:
+                    out.beginArray();
+                    value(type.getElement(), "]" + closers);
+                    break;
+                case MAP:
+                    out.beginObject();
+                    out.name(sampleKey(type.getKey()));
+                    value(type.getElement(), "}" + closers);
+                    break;
+                case OBJECT:
+                    descend(type, closers);
+                    break;
+                default:
+                    out.nullValue();
+                    close(closers);
+            }
+        }
+
+        /**
+         * Map 的示例 key, 与字段的示例值一致
+         */
+        private String sampleKey(TypeRef key) {
+            switch (key.getKind()) {
+                case PRIMITIVE:
+                    return "boolean".equals(key.getName()) ? "false" : "0";
+                case NORMAL:
+                    Object value = normalTypes.get(key.getName());
+                    return value == null ? key.getName() : String.valueOf(value);
+                case ENUM:
+                    return key.getConstants().isEmpty() ? key.getName() : key.getConstants().get(0);
+                default:
+                    return "key";
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiSubstitutor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiModificationTracker;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @description: 按类缓存 ClassModel, BuildJson/BuildJsonWithType/BuildJsonForYapi 和预览共用.
+ * 每一项记下建模时读过的文件及其修改戳, 只有这些文件改动时才失效, 编辑一个类不会让其他类的缓存失效.
+ * 项目级服务, 第一次生成时创建, 项目关闭时 dispose 释放
+ * @date: 2026/10/18
+ */
+public class SchemaCache implements Disposable {
+
+    private static final int MAX_ENTRIES = 512;
+
+    private final Project project;
+
+    /**
+     * accessOrder 的 LinkedHashMap, 超出容量时淘汰最久未用的
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * 与 entries 一起清空
+     */
+    private final ModelInterner interner = new ModelInterner();
+
+    public SchemaCache(Project project) {
+        this.project = project;
+    }
+
+    public static SchemaCache getInstance(Project project) {
+        return ServiceManager.getService(project, SchemaCache.class);
+    }
+
+    /**
+     * @param modelKey 泛型实例的 key, 见 {@link TypeModelBuilder#keyOf(PsiClass, PsiSubstitutor)}
+     */
+    public synchronized Entry get(PsiClass psiClass, String modelKey) {
+        String key = keyOf(psiClass, modelKey);
+        if (key == null) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isValid(structureCount())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    public synchronized void put(PsiClass psiClass, String modelKey, Entry entry) {
+        String key = keyOf(psiClass, modelKey);
+        if (key == null) {
+            return;
+        }
+        entries.put(key, entry);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        interner.clear();
+    }
+
+    public ModelInterner getInterner() {
+        return interner;
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+    }
+
+    /**
+     * 有字段类型解析不到的类依赖它: 新建或删除类之后需要重新解析
+     */
+    public long structureCount() {
+        return PsiModificationTracker.SERVICE.getInstance(project).getJavaStructureModificationCount();
+    }
+
+    /**
+     * 同名的类可能出现在多个模块中, 或者源码和库中各有一份, 按所在文件区分
+     */
+    private static String keyOf(PsiClass psiClass, String modelKey) {
+        if (psiClass == null || psiClass.getQualifiedName() == null || psiClass.getContainingFile() == null) {
+            return null;
+        }
+        VirtualFile file = psiClass.getContainingFile().getVirtualFile();
+        return file == null ? null : modelKey + '@' + file.getUrl();
+    }
+
+    /**
+     * 类模型及其字段引用到的类(已代入泛型参数), 命中缓存时不必重新解析字段类型.
+     * 嵌套的类各自一项, 只改动嵌套类时外层类的项仍然有效.
+     */
+    public static final class Entry {
+        private final ClassModel model;
+        private final List<PsiClassType> references;
+        private final PsiFile[] files;
+        private final long[] stamps;
+        private final long structureCount;
+
+        /**
+         * @param files 建模时读过的文件: 类及其父类所在的文件, 字段类型所在的文件.
+         * @param structureCount 有解析不到的字段类型时为 {@link #structureCount()}, 否则为 -1.
+         */
+        public Entry(ClassModel model, List<PsiClassType> references, Collection<PsiFile> files, long structureCount) {
+            this.model = model;
+            this.references = references;
+            this.files = files.toArray(new PsiFile[0]);
+            this.stamps = new long[this.files.length];
+            for (int i = 0; i < stamps.length; i++) {
+                stamps[i] = this.files[i].getModificationStamp();
+            }
+            this.structureCount = structureCount;
+        }
+
+        public ClassModel getModel() {
+            return model;
+        }
+
+        public List<PsiClassType> getReferences() {
+            return references;
+        }
+
+        public List<PsiFile> getFiles() {
+            return Arrays.asList(files);
+        }
+
+        private boolean isValid(long currentStructureCount) {
+            if (structureCount >= 0 && structureCount != currentStructureCount) {
+                return false;
+            }
+            for (int i = 0; i < files.length; i++) {
+                if (!files[i].isValid() || files[i].getModificationStamp() != stamps[i]) {
+                    return false;
+                }
+            }
+            for (PsiClassType reference : references) {
+                if (!reference.isValid()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,640 @@
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * @description: 比较两个版本的 BuildJsonWithType 或 BuildJsonForYapi 输出, 找出破坏兼容的改动.
+ * 两种格式先归一成同一种结构树, 每个节点带有结构哈希(与字段顺序和描述无关), 哈希相同的子树直接跳过, 只遍历不同的分支.
+ * 枚举常量只有 yapi schema 中有, map 的 key 类型只有带类型的 json 中有, 对应的改动只能在各自的格式中发现.
+ * 与 PSI 无关, 可以在 CI 中运行, 见 SchemaDiffCli
+ * @date: 2026/10/18
+ */
+public final class SchemaDiff {
+
+    public enum Severity {
+        BREAKING, NON_BREAKING
+    }
+
+    public enum ChangeType {
+        SCHEMA_REMOVED(Severity.BREAKING),
+        SCHEMA_ADDED(Severity.NON_BREAKING),
+        FIELD_REMOVED(Severity.BREAKING),
+        FIELD_ADDED(Severity.NON_BREAKING),
+        /**
+         * 新增的字段是必填的
+         */
+        REQUIRED_FIELD_ADDED(Severity.BREAKING),
+        FIELD_REQUIRED(Severity.BREAKING),
+        FIELD_OPTIONAL(Severity.NON_BREAKING),
+        /**
+         * 对象、数组、map 和标量之间的变化, 如集合改成了单个值
+         */
+        KIND_CHANGED(Severity.BREAKING),
+        TYPE_CHANGED(Severity.BREAKING),
+        /**
+         * 基本类型与包装类型之间, 如 int 与 Integer, 只影响能否为 null
+         */
+        TYPE_BOXING_CHANGED(Severity.NON_BREAKING),
+        /**
+         * 只在带类型的 json 中出现, yapi schema 中 map 的 key 总是字符串
+         */
+        MAP_KEY_CHANGED(Severity.BREAKING),
+        REF_CHANGED(Severity.BREAKING),
+        /**
+         * 只在 yapi schema 中出现, 带类型的 json 中枚举只有类型名, 没有常量
+         */
+        ENUM_VALUE_REMOVED(Severity.BREAKING),
+        ENUM_VALUE_ADDED(Severity.NON_BREAKING);
+
+        private final Severity severity;
+
+        ChangeType(Severity severity) {
+            this.severity = severity;
+        }
+
+        public Severity getSeverity() {
+            return severity;
+        }
+    }
+
+    public static final class Change {
+        private final String schema;
+        private final String path;
+        private final ChangeType type;
+        private final String before;
+        private final String after;
+
+        Change(String schema, String path, ChangeType type, String before, String after) {
+            this.schema = schema;
+            this.path = path;
+            this.type = type;
+            this.before = before;
+            this.after = after;
+        }
+
+        public String getSchema() {
+            return schema;
+        }
+
+        /**
+         * 如 $.items[].qty, map 的值为 {}, 共用定义为 #/definitions/类名
+         */
+        public String getPath() {
+            return path;
+        }
+
+        public ChangeType getType() {
+            return type;
+        }
+
+        public Severity getSeverity() {
+            return type.getSeverity();
+        }
+
+        public String getBefore() {
+            return before;
+        }
+
+        public String getAfter() {
+            return after;
+        }
+
+        @Override
+        public String toString() {
+            String text = (getSeverity() == Severity.BREAKING ? "BREAKING      " : "non-breaking  ") + schema + "  " + path + "  "
+                    + type.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+            if (before != null || after != null) {
+                text += ": " + (before == null ? "-" : before) + " -> " + (after == null ? "-" : after);
+            }
+            return text;
+        }
+    }
+
+    /**
+     * 一次比较的结果, 可以由多个线程同时写入
+     */
+    public static final class Report {
+        private final List<Change> changes = new ArrayList<>();
+        private int compared;
+        private int unchanged;
+        private long visited;
+        private long skipped;
+
+        public synchronized List<Change> getChanges() {
+            List<Change> sorted = new ArrayList<>(changes);
+            sorted.sort(Comparator.comparing(Change::getSchema).thenComparing(Change::getPath).thenComparing(Change::getType));
+            return sorted;
+        }
+
+        public synchronized int count(Severity severity) {
+            int count = 0;
+            for (Change change : changes) {
+                if (change.getSeverity() == severity) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public synchronized boolean hasBreaking() {
+            return count(Severity.BREAKING) > 0;
+        }
+
+        /**
+         * 两边都有的 schema 个数
+         */
+        public synchronized int getCompared() {
+            return compared;
+        }
+
+        /**
+         * 其中内容或结构完全相同的个数
+         */
+        public synchronized int getUnchanged() {
+            return unchanged;
+        }
+
+        /**
+         * 实际比较过的节点个数
+         */
+        public synchronized long getVisited() {
+            return visited;
+        }
+
+        /**
+         * 哈希相同而跳过的子树个数
+         */
+        public synchronized long getSkipped() {
+            return skipped;
+        }
+
+        public synchronized String summary() {
+            return compared + " schemas compared (" + unchanged + " unchanged): " + count(Severity.BREAKING) + " breaking, "
+                    + count(Severity.NON_BREAKING) + " non-breaking changes; " + visited + " nodes visited, " + skipped + " subtrees skipped";
+        }
+
+        public void writeTo(JsonWriter out) throws IOException {
+            List<Change> sorted = getChanges();
+            synchronized (this) {
+                out.beginObject();
+                out.name("compared").value(compared);
+                out.name("unchanged").value(unchanged);
+                out.name("breaking").value(count(Severity.BREAKING));
+                out.name("nonBreaking").value(count(Severity.NON_BREAKING));
+                out.name("visited").value(visited);
+                out.name("skipped").value(skipped);
+                out.name("changes").beginArray();
+                for (Change change : sorted) {
+                    out.beginObject();
+                    out.name("severity").value(change.getSeverity().name());
+                    out.name("type").value(change.type.name());
+                    out.name("schema").value(change.schema);
+                    out.name("path").value(change.path);
+                    if (change.before != null) {
+                        out.name("before").value(change.before);
+                    }
+                    if (change.after != null) {
+                        out.name("after").value(change.after);
+                    }
+                    out.endObject();
+                }
+                out.endArray();
+                out.endObject();
+            }
+        }
+
+        synchronized void add(Change change) {
+            changes.add(change);
+        }
+
+        synchronized void merge(List<Change> schemaChanges, long schemaVisited, long schemaSkipped, boolean same) {
+            changes.addAll(schemaChanges);
+            compared++;
+            if (same) {
+                unchanged++;
+            }
+            visited += schemaVisited;
+            skipped += schemaSkipped;
+        }
+    }
+
+    private SchemaDiff() {
+    }
+
+    public static void removed(Report report, String schema) {
+        report.add(new Change(schema, "$", ChangeType.SCHEMA_REMOVED, null, null));
+    }
+
+    public static void added(Report report, String schema) {
+        report.add(new Change(schema, "$", ChangeType.SCHEMA_ADDED, null, null));
+    }
+
+    /**
+     * 内容完全相同时调用, 不解析
+     */
+    public static void same(Report report) {
+        report.merge(Collections.emptyList(), 0, 1, true);
+    }
+
+    /**
+     * 比较同一个 schema 的两个版本, 结果写入 report. 可以在多个线程中同时调用
+     */
+    public static void compare(Report report, String schema, JsonElement before, JsonElement after) {
+        Schema old = Schema.of(before);
+        Schema current = Schema.of(after);
+        Comparison comparison = new Comparison(schema);
+        comparison.compare("$", old.root, current.root);
+        // 共用定义只比较两边都有的, 增删的定义会体现为引用的变化
+        for (Map.Entry<String, Node> entry : old.definitions.entrySet()) {
+            Node node = current.definitions.get(entry.getKey());
+            if (node != null) {
+                comparison.compare("#/definitions/" + entry.getKey(), entry.getValue(), node);
+            }
+        }
+        report.merge(comparison.changes, comparison.visited, comparison.skipped, comparison.changes.isEmpty() && comparison.visited == 0);
+    }
+
+    /**
+     * 只遍历哈希不同的分支
+     */
+    private static final class Comparison {
+        final String schema;
+        final List<Change> changes = new ArrayList<>();
+        long visited;
+        long skipped;
+
+        Comparison(String schema) {
+            this.schema = schema;
+        }
+
+        void compare(String path, Node before, Node after) {
+            if (before.hash == after.hash) {
+                skipped++;
+                return;
+            }
+            visited++;
+            if (before.kind != after.kind) {
+                add(path, ChangeType.KIND_CHANGED, before.describe(), after.describe());
+                return;
+            }
+            switch (before.kind) {
+                case SCALAR:
+                    if (!before.type.equals(after.type)) {
+                        add(path, sameBoxed(before.type, after.type) ? ChangeType.TYPE_BOXING_CHANGED : ChangeType.TYPE_CHANGED,
+                                before.type, after.type);
+                    }
+                    compareConstants(path, before.values, after.values);
+                    break;
+                case REF:
+                    if (!before.type.equals(after.type)) {
+                        add(path, ChangeType.REF_CHANGED, before.type, after.type);
+                    }
+                    break;
+                case ARRAY:
+                    compare(path + "[]", before.element, after.element);
+                    break;
+                case MAP:
+                    if (!before.type.equals(after.type)) {
+                        add(path, ChangeType.MAP_KEY_CHANGED, before.type, after.type);
+                    }
+                    compare(path + "{}", before.element, after.element);
+                    break;
+                default:
+                    compareObjects(path, before, after);
+            }
+        }
+
+        private void compareObjects(String path, Node before, Node after) {
+            for (Map.Entry<String, Node> entry : before.properties.entrySet()) {
+                String name = entry.getKey();
+                Node node = after.properties.get(name);
+                String child = path + "." + name;
+                if (node == null) {
+                    add(child, ChangeType.FIELD_REMOVED, entry.getValue().describe(), null);
+                    continue;
+                }
+                compare(child, entry.getValue(), node);
+                boolean wasRequired = before.values.contains(name);
+                boolean required = after.values.contains(name);
+                if (required && !wasRequired) {
+                    add(child, ChangeType.FIELD_REQUIRED, null, null);
+                } else if (wasRequired && !required) {
+                    add(child, ChangeType.FIELD_OPTIONAL, null, null);
+                }
+            }
+            for (Map.Entry<String, Node> entry : after.properties.entrySet()) {
+                if (!before.properties.containsKey(entry.getKey())) {
+                    add(path + "." + entry.getKey(), after.values.contains(entry.getKey()) ? ChangeType.REQUIRED_FIELD_ADDED : ChangeType.FIELD_ADDED,
+                            null, entry.getValue().describe());
+                }
+            }
+        }
+
+        private void compareConstants(String path, List<String> before, List<String> after) {
+            if (before.equals(after)) {
+                return;
+            }
+            Set<String> current = new HashSet<>(after);
+            for (String constant : before) {
+                if (!current.remove(constant)) {
+                    add(path, ChangeType.ENUM_VALUE_REMOVED, constant, null);
+                }
+            }
+            for (String constant : after) {
+                if (current.contains(constant)) {
+                    add(path, ChangeType.ENUM_VALUE_ADDED, null, constant);
+                }
+            }
+        }
+
+        private void add(String path, ChangeType type, String before, String after) {
+            changes.add(new Change(schema, path, type, before, after));
+        }
+    }
+
+    private static final Map<String, String> BOXED = new HashMap<>();
+
+    /**
+     * 带类型的 json 中 map 的 key, 如 String, Status, List&lt;Long&gt;
+     */
+    private static final Pattern TYPE_NAME = Pattern.compile("[A-Z][\\w$.]*(<.+>)?(\\[])*");
+
+    static {
+        String[][] pairs = {{"boolean", "Boolean"}, {"byte", "Byte"}, {"short", "Short"}, {"int", "Integer"}, {"long", "Long"},
+                {"float", "Float"}, {"double", "Double"}, {"char", "Character"}};
+        for (String[] pair : pairs) {
+            BOXED.put(pair[0], pair[1]);
+            BOXED.put(pair[1], pair[1]);
+        }
+    }
+
+    private static boolean sameBoxed(String before, String after) {
+        String boxed = BOXED.get(before);
+        return boxed != null && boxed.equals(BOXED.get(after));
+    }
+
+    enum Kind {
+        OBJECT, ARRAY, MAP, SCALAR, REF
+    }
+
+    /**
+     * 归一后的节点. 哈希由子节点的哈希算出, 对象的字段按名字无序组合, 描述不参与
+     */
+    static final class Node {
+        final Kind kind;
+        /**
+         * SCALAR 的类型名, REF 的目标, MAP 的 key 类型
+         */
+        final String type;
+        final Map<String, Node> properties;
+        /**
+         * ARRAY 的元素, MAP 的值
+         */
+        final Node element;
+        /**
+         * SCALAR 的枚举常量, OBJECT 的必填字段
+         */
+        final List<String> values;
+        final long hash;
+
+        private Node(Kind kind, String type, Map<String, Node> properties, Node element, List<String> values) {
+            this.kind = kind;
+            this.type = type;
+            this.properties = properties;
+            this.element = element;
+            this.values = values;
+            long hash = mix(kind.ordinal() + 1L) ^ stringHash(type);
+            if (element != null) {
+                hash = mix(hash + element.hash);
+            }
+            long unordered = 0;
+            for (Map.Entry<String, Node> entry : properties.entrySet()) {
+                unordered += mix(stringHash(entry.getKey()) * 31 + entry.getValue().hash);
+            }
+            long required = 0;
+            if (kind == Kind.OBJECT) {
+                for (String value : values) {
+                    required += mix(stringHash(value));
+                }
+            } else {
+                // 枚举常量的顺序不算改动, 按集合比较
+                for (String value : values) {
+                    unordered += mix(stringHash(value) + 1);
+                }
+            }
+            this.hash = mix(hash * 31 + unordered) ^ mix(required + 7);
+        }
+
+        static Node object(Map<String, Node> properties, List<String> required) {
+            return new Node(Kind.OBJECT, null, properties, null, required);
+        }
+
+        static Node array(Node element) {
+            return new Node(Kind.ARRAY, null, Collections.emptyMap(), element, Collections.emptyList());
+        }
+
+        static Node map(String keyType, Node value) {
+            return new Node(Kind.MAP, keyType, Collections.emptyMap(), value, Collections.emptyList());
+        }
+
+        static Node scalar(String type, List<String> constants) {
+            return new Node(Kind.SCALAR, type, Collections.emptyMap(), null, constants);
+        }
+
+        static Node ref(String target) {
+            return new Node(Kind.REF, target, Collections.emptyMap(), null, Collections.emptyList());
+        }
+
+        String describe() {
+            switch (kind) {
+                case SCALAR:
+                    return type;
+                case REF:
+                    return "$ref " + type;
+                case ARRAY:
+                    return "array of " + element.describe();
+                case MAP:
+                    return "map of " + type + " to " + element.describe();
+                default:
+                    return "object";
+            }
+        }
+    }
+
+    /**
+     * murmur3 的 fmix64
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * FNV-1a, 64 位
+     */
+    private static long stringHash(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 归一后的 schema: 根节点和 yapi 共用定义
+     */
+    static final class Schema {
+        final Node root;
+        final Map<String, Node> definitions;
+
+        private Schema(Node root, Map<String, Node> definitions) {
+            this.root = root;
+            this.definitions = definitions;
+        }
+
+        /**
+         * 根对象有 "type": "object" 时按 yapi schema 解析, 否则按带类型的 json 解析
+         */
+        static Schema of(JsonElement element) {
+            if (element.isJsonObject() && isString(element.getAsJsonObject().get("type"), "object")) {
+                JsonObject object = element.getAsJsonObject();
+                Map<String, Node> definitions = new HashMap<>();
+                JsonElement shared = object.get("definitions");
+                if (shared != null && shared.isJsonObject()) {
+                    for (Map.Entry<String, JsonElement> entry : shared.getAsJsonObject().entrySet()) {
+                        definitions.put(entry.getKey(), yapi(entry.getValue()));
+                    }
+                }
+                return new Schema(yapi(object), definitions);
+            }
+            return new Schema(typed(element), Collections.emptyMap());
+        }
+    }
+
+    /**
+     * BuildJsonWithType: 标量为 {"type": 类型名}, 集合为 [元素], map 为 {"key 类型名": 值},
+     * 循环引用为空对象 (旧版本写出的 {"$ref": 类名} 也能识别), 其余对象的每个字段各自解析.
+     * 只有一个键且键是类型名(大写开头)的对象按 map 解析, 只有一个大写开头字段的类会被误认为 map.
+     * 枚举只有类型名, 常量的增删比较不出来
+     */
+    static Node typed(JsonElement element) {
+        if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            return Node.array(array.size() == 0 ? Node.object(Collections.emptyMap(), Collections.emptyList()) : typed(array.get(0)));
+        }
+        if (!element.isJsonObject()) {
+            return Node.scalar(element.isJsonNull() ? "null" : element.getAsString(), Collections.emptyList());
+        }
+        JsonObject object = element.getAsJsonObject();
+        JsonElement type = object.get("type");
+        if (type != null && type.isJsonPrimitive() && isLeaf(object)) {
+            return Node.scalar(type.getAsString(), Collections.emptyList());
+        }
+        JsonElement ref = object.get("$ref");
+        if (ref != null && ref.isJsonPrimitive() && object.size() == 1) {
+            return Node.ref(ref.getAsString());
+        }
+        if (object.size() == 1) {
+            Map.Entry<String, JsonElement> entry = object.entrySet().iterator().next();
+            if (TYPE_NAME.matcher(entry.getKey()).matches()) {
+                return Node.map(entry.getKey(), typed(entry.getValue()));
+            }
+        }
+        Map<String, Node> properties = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            properties.put(entry.getKey(), typed(entry.getValue()));
+        }
+        return Node.object(properties, Collections.emptyList());
+    }
+
+    /**
+     * 只有 type 和 description 两个键, 且都是字符串
+     */
+    private static boolean isLeaf(JsonObject object) {
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            if (!"type".equals(entry.getKey()) && !"description".equals(entry.getKey()) || !entry.getValue().isJsonPrimitive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * BuildJsonForYapi: json schema 的子集
+     */
+    static Node yapi(JsonElement element) {
+        if (!element.isJsonObject()) {
+            return Node.scalar(element.toString(), Collections.emptyList());
+        }
+        JsonObject object = element.getAsJsonObject();
+        JsonElement ref = object.get("$ref");
+        if (ref != null && ref.isJsonPrimitive()) {
+            return Node.ref(refTarget(ref.getAsString()));
+        }
+        String type = isString(object.get("type"), null) ? object.get("type").getAsString() : "";
+        if ("array".equals(type)) {
+            JsonElement items = object.get("items");
+            return Node.array(items == null ? Node.object(Collections.emptyMap(), Collections.emptyList()) : yapi(items));
+        }
+        if ("object".equals(type)) {
+            JsonElement additional = object.get("additionalProperties");
+            if (additional != null && additional.isJsonObject()) {
+                // json 的 key 总是字符串, schema 中没有 java 的 key 类型, 两边都是 "string" 不会报 MAP_KEY_CHANGED
+                return Node.map("string", yapi(additional));
+            }
+            Map<String, Node> properties = new LinkedHashMap<>();
+            JsonElement fields = object.get("properties");
+            if (fields != null && fields.isJsonObject()) {
+                for (Map.Entry<String, JsonElement> entry : fields.getAsJsonObject().entrySet()) {
+                    properties.put(entry.getKey(), yapi(entry.getValue()));
+                }
+            }
+            return Node.object(properties, strings(object.get("required")));
+        }
+        return Node.scalar(type, strings(object.get("enum")));
+    }
+
+    /**
+     * 共用定义中的引用 #/definitions/key 取出 key, 其余原样
+     */
+    private static String refTarget(String ref) {
+        String prefix = "#/definitions/";
+        if (!ref.startsWith(prefix)) {
+            return ref;
+        }
+        return ref.substring(prefix.length()).replace("~1", "/").replace("~0", "~");
+    }
+
+    private static List<String> strings(JsonElement element) {
+        if (element == null || !element.isJsonArray()) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>();
+        for (JsonElement value : element.getAsJsonArray()) {
+            values.add(value.isJsonPrimitive() ? value.getAsString() : value.toString());
+        }
+        return values;
+    }
+
+    private static boolean isString(JsonElement element, String expected) {
+        if (element == null || !element.isJsonPrimitive() || !((JsonPrimitive) element).isString()) {
+            return false;
+        }
+        return expected == null || expected.equals(element.getAsString());
+    }
+}
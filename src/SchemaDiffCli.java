@@ -0,0 +1,89 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @description: 命令行比较两个版本的 schema, 在 CI 中检查 DTO 的改动是否破坏兼容. 有破坏兼容的改动时退出码为 1
+ * 例: java -cp pojotojson.jar:gson.jar SchemaDiffCli origin/main:build/schema/yapi build/schema/yapi
+ * @date: 2026/10/18
+ */
+public class SchemaDiffCli {
+
+    private static final String USAGE = "Usage: SchemaDiffCli <before> <after> [--combined] [--threads <n>] [--report <file>]"
+            + " [--breaking-only] [--allow-breaking]\n"
+            + "  <before>/<after>: a schema file, a directory of schema files, a JSON Lines file, or <git revision>:<path>\n"
+            + "  Enum value changes are only detected in yapi schemas; typed JSON carries the enum type name only.\n"
+            + "  Map key type changes are only detected in typed JSON; yapi map keys are always strings.";
+
+    public static void main(String[] args) throws Exception {
+        String before = null;
+        String after = null;
+        boolean combined = false;
+        boolean breakingOnly = false;
+        boolean allowBreaking = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        File reportFile = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--combined".equals(arg)) {
+                combined = true;
+            } else if ("--breaking-only".equals(arg)) {
+                breakingOnly = true;
+            } else if ("--allow-breaking".equals(arg)) {
+                allowBreaking = true;
+            } else if ("--threads".equals(arg) && i + 1 < args.length) {
+                try {
+                    threads = Math.max(1, Integer.parseInt(args[++i]));
+                } catch (NumberFormatException e) {
+                    // 与其它错误参数一样打印用法
+                    before = null;
+                    break;
+                }
+            } else if ("--report".equals(arg) && i + 1 < args.length) {
+                reportFile = new File(args[++i]);
+            } else if (!arg.startsWith("--") && before == null) {
+                before = arg;
+            } else if (!arg.startsWith("--") && after == null) {
+                after = arg;
+            } else {
+                before = null;
+                break;
+            }
+        }
+        if (before == null || after == null) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        File workDir = new File(System.getProperty("user.dir"));
+        SchemaDiff.Report report;
+        try {
+            SchemaSet old = SchemaSet.load(before, workDir, combined);
+            SchemaSet current = SchemaSet.load(after, workDir, combined);
+            report = SchemaSet.compare(old, current, threads);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Compare failed: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        for (SchemaDiff.Change change : report.getChanges()) {
+            if (!breakingOnly || change.getSeverity() == SchemaDiff.Severity.BREAKING) {
+                System.out.println(change);
+            }
+        }
+        System.out.println(report.summary() + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        if (reportFile != null) {
+            try (Writer writer = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8)) {
+                JsonWriter out = JsonOptions.PRETTY.newWriter(writer);
+                report.writeTo(out);
+                out.flush();
+            }
+        }
+        System.exit(report.hasBreaking() && !allowBreaking ? 1 : 0);
+    }
+}
@@ -0,0 +1,362 @@
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * @description: 一组待比较的 schema, 按名字对应. 来源可以是批量生成的目录、单个文件、合并文档、JSON Lines,
+ * 也可以是 git 中某个版本的文件或目录(rev:path). git 中的文件带有 blob id, 两个版本 id 相同时不用读取和解析
+ * @date: 2026/10/18
+ */
+public final class SchemaSet {
+
+    /**
+     * 一个 schema 的内容, 读到的原始字节或已经拆出来的 json
+     */
+    public static final class Entry {
+        private final String id;
+        /**
+         * git 中的文件在确定需要比较后才读取, 见 {@link #load}
+         */
+        private byte[] bytes;
+        private final JsonElement element;
+
+        Entry(String id, byte[] bytes, JsonElement element) {
+            this.id = id;
+            this.bytes = bytes;
+            this.element = element;
+        }
+
+        /**
+         * 内容相同, 不需要解析就能确定时返回 true
+         */
+        boolean sameAs(Entry other) {
+            if (id != null && id.equals(other.id)) {
+                return true;
+            }
+            return bytes != null && other.bytes != null && Arrays.equals(bytes, other.bytes);
+        }
+
+        JsonElement parse() {
+            if (element != null) {
+                return element;
+            }
+            return new JsonParser().parse(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * 来自 git 时为读取 blob 的工作目录
+     */
+    private final File gitWorkDir;
+
+    private SchemaSet(Map<String, Entry> entries, File gitWorkDir) {
+        this.entries = entries;
+        this.gitWorkDir = gitWorkDir;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param spec 文件或目录, 或者 rev:path 表示 git 中某个版本.
+     * @param workDir git 命令的工作目录, rev:path 中的 path 相对于它.
+     * @param combined 单个 json 文件是以类名为 key 的合并文档.
+     */
+    public static SchemaSet load(String spec, File workDir, boolean combined) throws IOException {
+        File file = new File(spec);
+        if (!file.isAbsolute()) {
+            file = new File(workDir, spec);
+        }
+        int colon = spec.indexOf(':');
+        // Windows 盘符 C:\ 不是版本
+        if (!file.exists() && colon > 1) {
+            return fromGit(spec.substring(0, colon), spec.substring(colon + 1), workDir, combined);
+        }
+        return of(file, combined);
+    }
+
+    public static SchemaSet of(File file, boolean combined) throws IOException {
+        Map<String, Entry> entries = new TreeMap<>();
+        if (file.isDirectory()) {
+            Path root = file.toPath();
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
+                    String name = root.relativize(path).toString().replace(File.separatorChar, '/');
+                    if (isSchemaFile(name)) {
+                        add(entries, name, null, Files.readAllBytes(path), false);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } else if (file.isFile()) {
+            add(entries, file.getName(), null, Files.readAllBytes(file.toPath()), combined);
+        } else {
+            throw new FileNotFoundException(file.getPath());
+        }
+        return new SchemaSet(entries, null);
+    }
+
+    /**
+     * 依赖索引等以点开头的文件不算
+     */
+    static boolean isSchemaFile(String name) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        return !fileName.startsWith(".") && (fileName.endsWith(".json") || fileName.endsWith(".jsonl"));
+    }
+
+    /**
+     * JSON Lines 与合并文档拆成每个类一项, 名字为类名
+     */
+    private static void add(Map<String, Entry> entries, String name, String id, byte[] bytes, boolean combined) throws IOException {
+        if (name.endsWith(".jsonl")) {
+            JsonParser parser = new JsonParser();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        JsonObject record = parser.parse(line).getAsJsonObject();
+                        entries.put(record.get("class").getAsString(), new Entry(null, line.getBytes(StandardCharsets.UTF_8), record.get("value")));
+                    }
+                }
+            }
+        } else if (combined) {
+            JsonElement document = new JsonParser().parse(new String(bytes, StandardCharsets.UTF_8));
+            for (Map.Entry<String, JsonElement> entry : document.getAsJsonObject().entrySet()) {
+                entries.put(entry.getKey(), new Entry(null, null, entry.getValue()));
+            }
+        } else {
+            entries.put(name, new Entry(id, bytes, null));
+        }
+    }
+
+    /**
+     * git ls-tree 列出文件和 blob id. 单个 schema 一个文件时先不读内容, 需要拆分的 JSON Lines 和合并文档立即读取
+     */
+    private static SchemaSet fromGit(String revision, String path, File workDir, boolean combined) throws IOException {
+        String prefix = path.isEmpty() || path.endsWith("/") ? path : path + "/";
+        List<String> names = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        byte[] listing = run(workDir, "git", "ls-tree", "-r", "-z", revision, "--", path.isEmpty() ? "." : path);
+        for (String line : new String(listing, StandardCharsets.UTF_8).split("\0")) {
+            // <mode> blob <id>\t<path>
+            int tab = line.indexOf('\t');
+            if (tab < 0 || !line.contains(" blob ")) {
+                continue;
+            }
+            String file = line.substring(tab + 1);
+            String name = file.startsWith(prefix) ? file.substring(prefix.length()) : file.substring(file.lastIndexOf('/') + 1);
+            if (isSchemaFile(name) || file.equals(path)) {
+                names.add(name);
+                ids.add(line.substring(line.indexOf(" blob ") + 6, tab));
+            }
+        }
+        if (names.isEmpty()) {
+            throw new FileNotFoundException(revision + ":" + path);
+        }
+        Map<String, Entry> entries = new TreeMap<>();
+        boolean document = combined && names.size() == 1;
+        List<String> split = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            if (document || names.get(i).endsWith(".jsonl")) {
+                split.add(ids.get(i));
+            } else {
+                entries.put(names.get(i), new Entry(ids.get(i), null, null));
+            }
+        }
+        if (!split.isEmpty()) {
+            List<byte[]> blobs = catFiles(workDir, split);
+            for (int i = 0, j = 0; i < names.size(); i++) {
+                if (document || names.get(i).endsWith(".jsonl")) {
+                    add(entries, names.get(i), ids.get(i), blobs.get(j++), document);
+                }
+            }
+        }
+        return new SchemaSet(entries, workDir);
+    }
+
+    /**
+     * 用一个 git cat-file --batch 进程读出还没有读取的内容
+     */
+    private void load(Collection<Entry> needed) throws IOException {
+        List<Entry> missing = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (Entry entry : needed) {
+            if (entry.bytes == null && entry.element == null) {
+                missing.add(entry);
+                ids.add(entry.id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<byte[]> blobs = catFiles(gitWorkDir, ids);
+        for (int i = 0; i < missing.size(); i++) {
+            missing.get(i).bytes = blobs.get(i);
+        }
+    }
+
+    private static List<byte[]> catFiles(File workDir, List<String> ids) throws IOException {
+        Process process = new ProcessBuilder("git", "cat-file", "--batch").directory(workDir)
+                .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        // 边写边读, 避免输出缓冲区写满后双方互相等待
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        Future<?> written = writer.submit(() -> {
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8))) {
+                for (String id : ids) {
+                    out.write(id);
+                    out.write('\n');
+                }
+            }
+            return null;
+        });
+        List<byte[]> blobs = new ArrayList<>(ids.size());
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(process.getInputStream()))) {
+            for (String id : ids) {
+                // <id> blob <size>\n<content>\n
+                String header = readLine(in);
+                String[] parts = header.split(" ");
+                if (parts.length != 3) {
+                    throw new IOException("git cat-file: " + header + " for " + id);
+                }
+                byte[] content = new byte[Integer.parseInt(parts[2])];
+                in.readFully(content);
+                in.readByte();
+                blobs.add(content);
+            }
+            written.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            writer.shutdownNow();
+            process.destroy();
+        }
+        return blobs;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException("git cat-file ended early");
+            }
+            line.write(b);
+        }
+        return new String(line.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] run(File workDir, String... command) throws IOException {
+        Process process = new ProcessBuilder(command).directory(workDir).start();
+        process.getOutputStream().close();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ByteArrayOutputStream error = new ByteArrayOutputStream();
+        Thread errorReader = new Thread(() -> copy(process.getErrorStream(), error));
+        errorReader.start();
+        copy(process.getInputStream(), output);
+        try {
+            errorReader.join();
+            if (process.waitFor() != 0) {
+                throw new IOException(String.join(" ", command) + ": " + new String(error.toByteArray(), StandardCharsets.UTF_8).trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        return output.toByteArray();
+    }
+
+    private static void copy(InputStream in, ByteArrayOutputStream out) {
+        byte[] buffer = new byte[8192];
+        int length;
+        try {
+            while ((length = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            // 进程结束后流被关闭
+        }
+    }
+
+    /**
+     * 按名字对应比较两组 schema. blob id 相同的不读取, 内容相同的不解析, 其余在线程池中比较
+     */
+    public static SchemaDiff.Report compare(SchemaSet before, SchemaSet after, int threads) throws IOException, InterruptedException {
+        SchemaDiff.Report report = new SchemaDiff.Report();
+        List<String> names = new ArrayList<>();
+        List<Entry> beforeNeeded = new ArrayList<>();
+        List<Entry> afterNeeded = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : before.entries.entrySet()) {
+            Entry current = after.entries.get(entry.getKey());
+            if (current == null) {
+                SchemaDiff.removed(report, entry.getKey());
+            } else if (entry.getValue().sameAs(current)) {
+                SchemaDiff.same(report);
+            } else {
+                names.add(entry.getKey());
+                beforeNeeded.add(entry.getValue());
+                afterNeeded.add(current);
+            }
+        }
+        for (String name : after.entries.keySet()) {
+            if (!before.entries.containsKey(name)) {
+                SchemaDiff.added(report, name);
+            }
+        }
+        before.load(beforeNeeded);
+        after.load(afterNeeded);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            Entry old = beforeNeeded.get(i);
+            Entry current = afterNeeded.get(i);
+            // 一边来自 git 时读取后才能比较字节
+            if (old.sameAs(current)) {
+                SchemaDiff.same(report);
+                continue;
+            }
+            tasks.add(() -> {
+                try {
+                    SchemaDiff.compare(report, name, old.parse(), current.parse());
+                } catch (JsonParseException | IllegalStateException e) {
+                    throw new IllegalArgumentException(name + ": " + e.getMessage(), e);
+                }
+                return null;
+            });
+        }
+        if (tasks.isEmpty()) {
+            return report;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, tasks.size())));
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return report;
+    }
+}
@@ -0,0 +1,26 @@
+import com.intellij.ide.scratch.ScratchFileService;
+import com.intellij.ide.scratch.ScratchRootType;
+import com.intellij.lang.Language;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileTypes.PlainTextLanguage;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+
+/**
+ * @description: 新建 scratch 文件并打开, 没有 JSON 插件时按纯文本
+ * @date: 2026/10/18
+ */
+public class ScratchSink extends TextOutputSink {
+
+    @Override
+    public String deliver(Project project) {
+        Language json = Language.findLanguageByID("JSON");
+        VirtualFile file = ScratchRootType.getInstance().createScratchFile(project, name + ".json",
+                json == null ? PlainTextLanguage.INSTANCE : json, text, ScratchFileService.Option.create_new_always);
+        if (file == null) {
+            throw new IllegalStateException("Create scratch file " + name + ".json failed");
+        }
+        FileEditorManager.getInstance(project).openFile(file, true);
+        return "opened in scratch file " + file.getName();
+    }
+}
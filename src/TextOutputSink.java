@@ -0,0 +1,21 @@
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * @description: 需要在 EDT 中使用整段文本的去向, 后台线程中先生成文本
+ * @date: 2026/10/18
+ */
+public abstract class TextOutputSink implements OutputSink {
+
+    protected String name;
+
+    protected String text;
+
+    @Override
+    public void prepare(String name, Content content) throws IOException {
+        StringWriter buffer = new StringWriter();
+        content.writeTo(buffer);
+        this.name = name;
+        this.text = buffer.toString();
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * @description: 按解析出的类(而不是类型名)判断的字段类别
+ * @date: 2026/10/18
+ */
+public enum TypeCategory {
+    /**
+     * {@link GenerationProfile#getNormalTypes()} 中的类型
+     */
+    NORMAL,
+    /**
+     * 实现了 Iterable, 包括 Collection/List/Set 及其子类
+     */
+    COLLECTION,
+    /**
+     * 实现了 Map
+     */
+    MAP,
+    /**
+     * java.util.Optional, 按其中的类型处理
+     */
+    OPTIONAL,
+    ENUM,
+    OBJECT
+}
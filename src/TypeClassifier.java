@@ -0,0 +1,60 @@
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.util.InheritanceUtil;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @description: 判断 PsiClass 的类别, 每个类只判断一次. 需要在读操作中调用, 非线程安全
+ * @date: 2026/10/18
+ */
+public class TypeClassifier {
+
+    public static final String JAVA_UTIL_OPTIONAL = "java.util.Optional";
+
+    private final Map<PsiClass, TypeCategory> categories = new IdentityHashMap<>();
+
+    /**
+     * GenerationProfile.getNormalTypes()
+     */
+    private final Set<String> normalTypes;
+
+    public TypeClassifier(Set<String> normalTypes) {
+        this.normalTypes = normalTypes;
+    }
+
+    public TypeCategory categoryOf(PsiClass psiClass) {
+        TypeCategory category = categories.get(psiClass);
+        if (category == null) {
+            category = compute(psiClass);
+            categories.put(psiClass, category);
+        }
+        return category;
+    }
+
+    private TypeCategory compute(PsiClass psiClass) {
+        if (psiClass instanceof PsiTypeParameter) {
+            return TypeCategory.OBJECT;
+        }
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName != null && (normalTypes.contains(qualifiedName) || normalTypes.contains(psiClass.getName()))) {
+            return TypeCategory.NORMAL;
+        }
+        if (JAVA_UTIL_OPTIONAL.equals(qualifiedName)) {
+            return TypeCategory.OPTIONAL;
+        }
+        if (psiClass.isEnum()) {
+            return TypeCategory.ENUM;
+        }
+        if (InheritanceUtil.isInheritor(psiClass, CommonClassNames.JAVA_UTIL_MAP)) {
+            return TypeCategory.MAP;
+        }
+        if (InheritanceUtil.isInheritor(psiClass, CommonClassNames.JAVA_LANG_ITERABLE)) {
+            return TypeCategory.COLLECTION;
+        }
+        return TypeCategory.OBJECT;
+    }
+}
@@ -0,0 +1,40 @@
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * @description: 一次生成所用的类型模型, 根类及其引用到的全部类
+ * @date: 2026/10/18
+ */
+public final class TypeModel {
+
+    private final String rootKey;
+
+    private final Map<String, ClassModel> classes;
+
+    private final boolean truncated;
+
+    public TypeModel(String rootKey, Map<String, ClassModel> classes, boolean truncated) {
+        this.rootKey = rootKey;
+        this.classes = Collections.unmodifiableMap(classes);
+        this.truncated = truncated;
+    }
+
+    public ClassModel getRoot() {
+        return rootKey == null ? null : classes.get(rootKey);
+    }
+
+    /**
+     * 超出深度或数量限制而没有展开的类返回 null
+     */
+    public ClassModel get(String key) {
+        return key == null ? null : classes.get(key);
+    }
+
+    public Map<String, ClassModel> getClasses() {
+        return classes;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
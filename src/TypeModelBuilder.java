@@ -0,0 +1,306 @@
+import com.intellij.codeInsight.AnnotationUtil;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.*;
+import com.intellij.psi.javadoc.PsiDocComment;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+
+import java.util.*;
+
+/**
+ * @description: 一次遍历 PSI 生成 TypeModel, 供各种输出格式共用
+ * @date: 2026/10/18
+ */
+public class TypeModelBuilder {
+
+    private final GenerationProfile profile;
+
+    private final int maxDepth;
+
+    private final int maxNodes;
+
+    private final TypeClassifier classifier;
+
+    private final ConversionStats stats;
+
+    /**
+     * 本次 build 中解析注释的耗时
+     */
+    private long remarkNanos;
+
+    /**
+     * 本次 build 读过的文件, 包括缓存命中的类建模时读过的文件
+     */
+    private final Set<PsiFile> files = new LinkedHashSet<>();
+
+    public TypeModelBuilder() {
+        this(GenerationProfile.DEFAULT);
+    }
+
+    public TypeModelBuilder(GenerationProfile profile) {
+        this(profile, new ConversionStats());
+    }
+
+    public TypeModelBuilder(GenerationProfile profile, ConversionStats stats) {
+        this(profile, stats, profile.getMaxDepth(), profile.getMaxNodes());
+    }
+
+    public TypeModelBuilder(int maxDepth, int maxNodes) {
+        this(GenerationProfile.DEFAULT, new ConversionStats(), maxDepth, maxNodes);
+    }
+
+    private TypeModelBuilder(GenerationProfile profile, ConversionStats stats, int maxDepth, int maxNodes) {
+        this.profile = profile;
+        this.classifier = new TypeClassifier(profile.getNormalTypes());
+        this.stats = stats;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * 需要在读操作中调用. 按广度优先展开, 每个类的每种泛型实例只解析一次.
+     * 耗时计入 stats 的 RESOLVE 和 REMARKS.
+     */
+    public TypeModel build(PsiClass root) {
+        long start = System.nanoTime();
+        remarkNanos = 0;
+        files.clear();
+        try {
+            return doBuild(root);
+        } finally {
+            stats.addTime(ConversionStats.Phase.REMARKS, remarkNanos);
+            stats.addTime(ConversionStats.Phase.RESOLVE, System.nanoTime() - start - remarkNanos);
+        }
+    }
+
+    private TypeModel doBuild(PsiClass root) {
+        Map<String, ClassModel> classes = new LinkedHashMap<>();
+        if (root == null) {
+            return new TypeModel(null, classes, false);
+        }
+        SchemaCache cache = SchemaCache.getInstance(root.getProject());
+        Deque<PsiClassType> queue = new ArrayDeque<>();
+        Map<String, Integer> depths = new HashMap<>();
+        PsiClassType rootType = JavaPsiFacade.getElementFactory(root.getProject()).createType(root);
+        String rootKey = keyOf(root, rootType.resolveGenerics().getSubstitutor());
+        queue.add(rootType);
+        depths.put(rootKey, 0);
+        boolean truncated = false;
+        while (!queue.isEmpty()) {
+            PsiClassType.ClassResolveResult resolved = queue.poll().resolveGenerics();
+            PsiClass psiClass = resolved.getElement();
+            if (psiClass == null) {
+                continue;
+            }
+            String key = keyOf(psiClass, resolved.getSubstitutor());
+            if (classes.containsKey(key)) {
+                continue;
+            }
+            int depth = depths.get(key);
+            if (depth > maxDepth || classes.size() >= maxNodes) {
+                truncated = true;
+                continue;
+            }
+            // 排除的字段或按标量处理的类型不同, 模型也不同
+            String cacheKey = key + profile.getModelSignature();
+            SchemaCache.Entry entry = cache.get(psiClass, cacheKey);
+            if (entry == null) {
+                stats.cacheMiss();
+                entry = buildClass(psiClass, resolved.getSubstitutor(), key, cache);
+                cache.put(psiClass, cacheKey, entry);
+            } else {
+                stats.cacheHit();
+            }
+            classes.put(key, entry.getModel());
+            files.addAll(entry.getFiles());
+            stats.visited(depth);
+            for (PsiClassType reference : entry.getReferences()) {
+                PsiClassType.ClassResolveResult referenceResult = reference.resolveGenerics();
+                if (referenceResult.getElement() == null) {
+                    continue;
+                }
+                String referenceKey = keyOf(referenceResult.getElement(), referenceResult.getSubstitutor());
+                if (!depths.containsKey(referenceKey)) {
+                    depths.put(referenceKey, depth + 1);
+                    queue.add(reference);
+                }
+            }
+        }
+        return new TypeModel(rootKey, classes, truncated);
+    }
+
+    /**
+     * 上次 build 读过的文件: 各个类及其父类、字段类型(包括内联的枚举)所在的文件. 其中任何一个改动, 结果都可能不同
+     */
+    public Set<PsiFile> getFiles() {
+        return Collections.unmodifiableSet(files);
+    }
+
+    public static String keyOf(PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        return qualifiedName != null ? qualifiedName : String.valueOf(psiClass.getName());
+    }
+
+    /**
+     * 泛型实例的 key, 如 com.foo.PageResult&lt;com.foo.OrderDTO&gt;. 类型参数没有绑定时与 {@link #keyOf(PsiClass)} 相同.
+     */
+    public static String keyOf(PsiClass psiClass, PsiSubstitutor substitutor) {
+        String key = keyOf(psiClass);
+        StringBuilder arguments = new StringBuilder();
+        boolean bound = false;
+        for (PsiTypeParameter parameter : PsiUtil.typeParametersIterable(psiClass)) {
+            PsiType argument = substitutor.substitute(parameter);
+            String text = argument == null ? parameter.getName() : argument.getCanonicalText();
+            bound |= !String.valueOf(parameter.getName()).equals(text);
+            arguments.append(arguments.length() == 0 ? "<" : ",").append(text);
+        }
+        return bound ? key + arguments + ">" : key;
+    }
+
+    private SchemaCache.Entry buildClass(PsiClass psiClass, PsiSubstitutor substitutor, String key, SchemaCache cache) {
+        ModelInterner interner = cache.getInterner();
+        List<FieldModel> fields = new ArrayList<>();
+        List<PsiClassType> references = new ArrayList<>();
+        // 父类改动(包括没有字段的父类改为继承别的类)也会影响字段列表
+        Set<PsiFile> files = new LinkedHashSet<>();
+        addFile(psiClass, files);
+        for (PsiClass superClass : InheritanceUtil.getSuperClasses(psiClass)) {
+            addFile(superClass, files);
+        }
+        long structureCount = cache.structureCount();
+        boolean unresolved = false;
+        for (PsiField field : psiClass.getAllFields()) {
+            ProgressManager.checkCanceled();
+            boolean staticField = field.hasModifierProperty(PsiModifier.STATIC);
+            boolean transientField = field.hasModifierProperty(PsiModifier.TRANSIENT);
+            // 不输出的字段在解析类型之前跳过, 其引用的类不会展开
+            if (!profile.includes(staticField, transientField) || isIgnored(field)) {
+                continue;
+            }
+            PsiType fieldType = fieldSubstitutor(field, psiClass, substitutor).substitute(field.getType());
+            TypeRef type = interner.intern(classify(fieldType == null ? TypeConversionUtil.erasure(field.getType()) : fieldType, references, files));
+            unresolved |= hasUnknown(type);
+            long remarkStart = System.nanoTime();
+            String remark = remarkOf(field);
+            remarkNanos += System.nanoTime() - remarkStart;
+            fields.add(interner.intern(new FieldModel(field.getName(), type, remark, jsonNameOf(field),
+                    staticField, transientField, AnnotationUtil.findAnnotation(field, JsonAnnotations.REQUIRED) != null)));
+        }
+        return new SchemaCache.Entry(new ClassModel(key, psiClass.getName(), fields), references, files, unresolved ? structureCount : -1);
+    }
+
+    private static void addFile(PsiClass psiClass, Set<PsiFile> files) {
+        PsiFile file = psiClass.getContainingFile();
+        if (file != null) {
+            files.add(file);
+        }
+    }
+
+    /**
+     * 包括没有绑定的类型参数, 多失效几次不影响结果
+     */
+    private static boolean hasUnknown(TypeRef type) {
+        if (type == null) {
+            return false;
+        }
+        return type.getKind() == TypeRef.Kind.UNKNOWN || hasUnknown(type.getKey()) || hasUnknown(type.getElement());
+    }
+
+    /**
+     * 父类中声明的字段, 用父类在当前实例下的 substitutor
+     */
+    private static PsiSubstitutor fieldSubstitutor(PsiField field, PsiClass psiClass, PsiSubstitutor substitutor) {
+        PsiClass containingClass = field.getContainingClass();
+        if (containingClass == null || containingClass == psiClass || !psiClass.isInheritor(containingClass, true)) {
+            return substitutor;
+        }
+        return TypeConversionUtil.getSuperClassSubstitutor(containingClass, psiClass, substitutor);
+    }
+
+    private TypeRef classify(PsiType type, List<PsiClassType> references, Set<PsiFile> files) {
+        if (type instanceof PsiPrimitiveType) {
+            return TypeRef.primitive(type.getPresentableText());
+        }
+        if (type instanceof PsiWildcardType) {
+            return classify(((PsiWildcardType) type).getExtendsBound(), references, files);
+        }
+        String typeName = type.getPresentableText();
+        if (type instanceof PsiArrayType) {
+            return TypeRef.array(typeName, classify(type.getDeepComponentType(), references, files));
+        }
+        PsiClassType.ClassResolveResult resolved = type instanceof PsiClassType ? ((PsiClassType) type).resolveGenerics() : null;
+        PsiClass psiClass = resolved == null ? PsiUtil.resolveClassInType(type) : resolved.getElement();
+        if (psiClass == null) {
+            return TypeRef.unknown(typeName);
+        }
+        // 枚举常量、是否是集合等取决于该类的声明
+        addFile(psiClass, files);
+        switch (classifier.categoryOf(psiClass)) {
+            case NORMAL:
+                return TypeRef.normal(typeName);
+            case ENUM:
+                return TypeRef.enumeration(typeName, constantsOf(psiClass));
+            case OPTIONAL:
+                PsiType valueType = PsiUtil.substituteTypeParameter(type, TypeClassifier.JAVA_UTIL_OPTIONAL, 0, false);
+                return valueType == null ? TypeRef.unknown(typeName) : classify(valueType, references, files);
+            case COLLECTION:
+                PsiType iterableType = PsiUtil.extractIterableTypeParameter(type, false);
+                TypeRef element = iterableType == null ? TypeRef.unknown("Object") : classify(iterableType, references, files);
+                return TypeRef.collection(typeName, element);
+            case MAP:
+                PsiType keyType = PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_UTIL_MAP, 0, false);
+                PsiType mapValueType = PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_UTIL_MAP, 1, false);
+                if (keyType == null || mapValueType == null) {
+                    return TypeRef.map(typeName, TypeRef.unknown("Object"), TypeRef.unknown("Object"));
+                }
+                return TypeRef.map(typeName, classify(keyType, references, files), classify(mapValueType, references, files));
+            default:
+                if (psiClass instanceof PsiTypeParameter || resolved == null) {
+                    // 没有绑定的类型参数
+                    return TypeRef.unknown(typeName);
+                }
+                references.add((PsiClassType) type);
+                return TypeRef.object(typeName, keyOf(psiClass, resolved.getSubstitutor()));
+        }
+    }
+
+    private static List<String> constantsOf(PsiClass psiClass) {
+        List<String> constants = new ArrayList<>();
+        for (PsiField field : psiClass.getFields()) {
+            if (field instanceof PsiEnumConstant) {
+                constants.add(field.getName());
+            }
+        }
+        return constants;
+    }
+
+    /**
+     * 随 ClassModel 一起缓存在 SchemaCache 中, 类不变时不会重复解析
+     */
+    private static String remarkOf(PsiField field) {
+        PsiDocComment docComment = field.getDocComment();
+        return docComment == null ? "" : DocRemarks.clean(docComment.getText());
+    }
+
+    private static String jsonNameOf(PsiField field) {
+        PsiAnnotation annotation = AnnotationUtil.findAnnotation(field, JsonAnnotations.NAME);
+        if (annotation != null) {
+            return AnnotationUtil.getStringAttributeValue(annotation, "value");
+        }
+        annotation = AnnotationUtil.findAnnotation(field, JsonAnnotations.JSON_FIELD);
+        return annotation == null ? null : AnnotationUtil.getStringAttributeValue(annotation, "name");
+    }
+
+    /**
+     * @JsonIgnore(false) 不算忽略, 取不到属性值时按默认的 true 处理
+     */
+    private static boolean isIgnored(PsiField field) {
+        PsiAnnotation ignore = AnnotationUtil.findAnnotation(field, JsonAnnotations.IGNORE);
+        if (ignore != null && !Boolean.FALSE.equals(AnnotationUtil.getBooleanAttributeValue(ignore, "value"))) {
+            return true;
+        }
+        PsiAnnotation jsonField = AnnotationUtil.findAnnotation(field, JsonAnnotations.JSON_FIELD);
+        return jsonField != null && Boolean.FALSE.equals(AnnotationUtil.getBooleanAttributeValue(jsonField, "serialize"));
+    }
+}
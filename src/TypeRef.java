@@ -0,0 +1,167 @@
+import org.jetbrains.annotations.NonNls;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * @description: 字段类型, 与 PSI 无关. 不可变, 按值比较, 可以通过 {@link ModelInterner} 共用
+ * @date: 2026/10/18
+ */
+public final class TypeRef {
+
+    /**
+     * 内置的直接取默认值的类型, 按全限定名判断, 输出时用简单类名. 实际按标量处理的类型由 GenerationProfile 的默认值决定
+     */
+    @NonNls
+    public static final Set<String> NORMAL_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "java.lang.Boolean", "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long",
+            "java.lang.Float", "java.lang.Double", "java.lang.Character", "java.lang.String",
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.Date", "java.util.UUID",
+            "java.time.LocalDate", "java.time.LocalDateTime", "java.time.LocalTime", "java.time.Instant")));
+
+    public enum Kind {
+        PRIMITIVE, NORMAL, ENUM, ARRAY, COLLECTION, MAP, OBJECT, UNKNOWN
+    }
+
+    private final Kind kind;
+
+    private final String name;
+
+    private final TypeRef key;
+
+    private final TypeRef element;
+
+    private final String classKey;
+
+    private final List<String> constants;
+
+    private final int hash;
+
+    private TypeRef(Kind kind, String name, TypeRef key, TypeRef element, String classKey) {
+        this(kind, name, key, element, classKey, Collections.emptyList());
+    }
+
+    private TypeRef(Kind kind, String name, TypeRef key, TypeRef element, String classKey, List<String> constants) {
+        this.kind = kind;
+        this.name = name;
+        this.key = key;
+        this.element = element;
+        this.classKey = classKey;
+        this.constants = constants;
+        this.hash = Objects.hash(kind, name, key, element, classKey, constants);
+    }
+
+    public static TypeRef primitive(String name) {
+        return new TypeRef(Kind.PRIMITIVE, name, null, null, null);
+    }
+
+    public static TypeRef normal(String name) {
+        return new TypeRef(Kind.NORMAL, name, null, null, null);
+    }
+
+    public static TypeRef enumeration(String name, List<String> constants) {
+        return new TypeRef(Kind.ENUM, name, null, null, null, Collections.unmodifiableList(constants));
+    }
+
+    public static TypeRef array(String name, TypeRef element) {
+        return new TypeRef(Kind.ARRAY, name, null, element, null);
+    }
+
+    public static TypeRef collection(String name, TypeRef element) {
+        return new TypeRef(Kind.COLLECTION, name, null, element, null);
+    }
+
+    public static TypeRef map(String name, TypeRef key, TypeRef value) {
+        return new TypeRef(Kind.MAP, name, key, value, null);
+    }
+
+    public static TypeRef object(String name, String classKey) {
+        return new TypeRef(Kind.OBJECT, name, null, null, classKey);
+    }
+
+    public static TypeRef unknown(String name) {
+        return new TypeRef(Kind.UNKNOWN, name, null, null, null);
+    }
+
+    /**
+     * 换成已共用的 key/element, 其余不变
+     */
+    TypeRef withChildren(TypeRef key, TypeRef element) {
+        if (key == this.key && element == this.element) {
+            return this;
+        }
+        return new TypeRef(kind, name, key, element, classKey, constants);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * 源码中的类型名, 如 int, String, List&lt;Address&gt;
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * MAP 的 key 类型
+     */
+    public TypeRef getKey() {
+        return key;
+    }
+
+    /**
+     * ARRAY/COLLECTION 的元素类型, MAP 的 value 类型
+     */
+    public TypeRef getElement() {
+        return element;
+    }
+
+    /**
+     * OBJECT 对应 {@link TypeModel} 中 ClassModel 的 key
+     */
+    public String getClassKey() {
+        return classKey;
+    }
+
+    /**
+     * ENUM 的常量名, 按声明顺序
+     */
+    public List<String> getConstants() {
+        return constants;
+    }
+
+    public boolean isScalar() {
+        return kind == Kind.PRIMITIVE || kind == Kind.NORMAL || kind == Kind.ENUM;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TypeRef)) {
+            return false;
+        }
+        TypeRef other = (TypeRef) o;
+        // 子类型已共用时 Objects.equals 按引用比较即可返回
+        return hash == other.hash && kind == other.kind && name.equals(other.name) && Objects.equals(key, other.key)
+                && Objects.equals(element, other.element) && Objects.equals(classKey, other.classKey)
+                && constants.equals(other.constants);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + name;
+    }
+}
@@ -0,0 +1,112 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * @description: 带有类型的json
+ * @date: 2026/10/18
+ */
+public class TypedJsonEmitter implements JsonEmitter {
+
+    private final GenerationProfile profile;
+
+    public TypedJsonEmitter() {
+        this(GenerationProfile.DEFAULT);
+    }
+
+    public TypedJsonEmitter(GenerationProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public void write(TypeModel model, JsonWriter out, List<String> warnings) throws IOException {
+        Walker walker = new Walker(model, out, profile);
+        walker.walk(model.getRoot(), "");
+        if (walker.isTruncated() || model.isTruncated()) {
+            warnings.add(TRUNCATED);
+        }
+    }
+
+    private static class Walker extends FieldWalker {
+
+        Walker(TypeModel model, JsonWriter out, GenerationProfile profile) {
+            super(model, out, profile);
+        }
+
+        @Override
+        protected void writeField(FieldModel field) throws IOException {
+            TypeRef type = field.getType();
+            String remark = field.getRemark();
+            switch (type.getKind()) {
+                case PRIMITIVE:
+                case NORMAL:
+                case ENUM:
+                    out.name(nameOf(field));
+                    leaf(type.getName(), remark);
+                    break;
+                case ARRAY:
+                case COLLECTION:
+                    out.name(nameOf(field));
+                    out.beginArray();
+                    TypeRef element = type.getElement();
+                    if (element.getKind() == TypeRef.Kind.PRIMITIVE && type.getKind() == TypeRef.Kind.ARRAY) {
+                        leaf(type.getName(), remark);
+                        close("]");
+                    } else if (element.isScalar()) {
+                        leaf(element.getName(), remark);
+                        close("]");
+                    } else {
+                        value(element, "]");
+                    }
+                    break;
+                case MAP:
+                    out.name(nameOf(field));
+                    out.beginObject();
+                    out.name(type.getKey().getName());
+                    if (type.getElement().isScalar()) {
+                        leaf(type.getElement().getName(), remark);
+                        close("}");
+                    } else {
+                        value(type.getElement(), "}");
+                    }
+                    break;
+                default:
+                    out.name(nameOf(field));
+                    value(type, "");
+            }
+        }
+
+        private void value(TypeRef type, String closers) throws IOException {
+            switch (type.getKind()) {
+                case PRIMITIVE:
+                case NORMAL:
+                case ENUM:
+                    leaf(type.getName(), "");
+                    close(closers);
+                    break;
+                case ARRAY:
+                case COLLECTION:
+                    out.beginArray();
+                    value(type.getElement(), "]" + closers);
+                    break;
+                case MAP:
+                    out.beginObject();
+                    out.name(type.getKey().getName());
+                    value(type.getElement(), "}" + closers);
+                    break;
+                default:
+                    descend(type, closers);
+            }
+        }
+
+        private void leaf(String typeName, String remark) throws IOException {
+            out.beginObject();
+            out.name("type").value(typeName);
+            if (!remark.isEmpty()) {
+                out.name("description").value(remark);
+            }
+            out.endObject();
+        }
+    }
+}
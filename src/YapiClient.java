@@ -0,0 +1,463 @@
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @description: 把 yapi schema 批量推送到 yapi 的 /api/interface/save, 每个类一个接口, 与 PSI 无关.
+ * 固定个数的线程并发发送, HttpURLConnection 在同一个地址上复用 keep-alive 连接; 请求体 gzip 压缩;
+ * 内容与上次推送的摘要相同时跳过; 连接失败、429 和 5xx 按指数退避重试
+ * @date: 2026/10/18
+ */
+public final class YapiClient {
+
+    public static final String SAVE_PATH = "/api/interface/save";
+
+    /**
+     * 重试前最多等待的时间, 服务器返回的 Retry-After 更长时也按这个时间
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    /**
+     * schema 放在接口的请求体还是返回数据中
+     */
+    public enum Body {
+        REQUEST, RESPONSE
+    }
+
+    public interface Progress {
+        /**
+         * 每个类推送完成(或跳过、失败)后调用, 在发送线程中
+         */
+        void done(int finished, int total, String key);
+    }
+
+    /**
+     * 一个待推送的类
+     */
+    public static final class Schema {
+        private final String key;
+        private final String title;
+        private final String json;
+
+        public Schema(String key, String title, String json) {
+            this.key = key;
+            this.title = title;
+            this.json = json;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    public static final class Result {
+        private final AtomicInteger pushed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger retries = new AtomicInteger();
+        private final Map<String, String> hashes = new ConcurrentHashMap<>();
+        private final Map<String, String> errors = new ConcurrentSkipListMap<>();
+
+        public int getPushed() {
+            return pushed.get();
+        }
+
+        public int getSkipped() {
+            return skipped.get();
+        }
+
+        public int getRetries() {
+            return retries.get();
+        }
+
+        /**
+         * 推送成功和跳过的类的摘要, 下次推送时传回 {@link #push}
+         */
+        public Map<String, String> getHashes() {
+            return hashes;
+        }
+
+        /**
+         * 类 -> 失败原因
+         */
+        public Map<String, String> getErrors() {
+            return errors;
+        }
+    }
+
+    private final String baseUrl;
+
+    private final String token;
+
+    private final String catId;
+
+    private final String pathPrefix;
+
+    private final Body body;
+
+    private final int concurrency;
+
+    private final int maxAttempts;
+
+    private final long backoffMillis;
+
+    private final int timeoutMillis;
+
+    private YapiClient(Builder builder) {
+        this.baseUrl = builder.baseUrl.endsWith("/") ? builder.baseUrl.substring(0, builder.baseUrl.length() - 1) : builder.baseUrl;
+        this.token = builder.token;
+        this.catId = builder.catId;
+        this.pathPrefix = builder.pathPrefix;
+        this.body = builder.body;
+        this.concurrency = builder.concurrency;
+        this.maxAttempts = builder.maxAttempts;
+        this.backoffMillis = builder.backoffMillis;
+        this.timeoutMillis = builder.timeoutMillis;
+    }
+
+    /**
+     * 摘要的作用范围, 换了服务器、分类或 schema 的位置后全部重新推送. 不包含 token
+     */
+    public String getScope() {
+        return baseUrl + "|" + catId + "|" + pathPrefix + "|" + body;
+    }
+
+    /**
+     * 阻塞直到全部完成或取消. 取消后未发送的类不计入结果, 正在等待重试的类立即结束.
+     * @param previous 上次推送的摘要, 见 {@link Result#getHashes()}.
+     */
+    public Result push(List<Schema> schemas, Map<String, String> previous, Progress progress, BooleanSupplier cancelled)
+            throws InterruptedException {
+        Result result = new Result();
+        int total = schemas.size();
+        AtomicInteger finished = new AtomicInteger();
+        // 取消时放开, 等待重试的线程立即结束
+        CountDownLatch stop = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, total)));
+        try {
+            List<Future<?>> futures = new ArrayList<>(total);
+            for (Schema schema : schemas) {
+                futures.add(pool.submit(() -> {
+                    try {
+                        if (!cancelled.getAsBoolean()) {
+                            pushOne(schema, previous.get(schema.key), result, cancelled, stop);
+                        }
+                    } catch (RuntimeException e) {
+                        result.errors.put(schema.key, e.toString());
+                    } finally {
+                        progress.done(finished.incrementAndGet(), total, schema.key);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                while (true) {
+                    try {
+                        future.get(100, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        if (cancelled.getAsBoolean()) {
+                            stop.countDown();
+                        }
+                    } catch (ExecutionException e) {
+                        // 只有等待重试时被中断
+                        throw new InterruptedException(String.valueOf(e.getCause()));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    private void pushOne(Schema schema, String previousHash, Result result, BooleanSupplier cancelled, CountDownLatch stop)
+            throws InterruptedException {
+        byte[] payload;
+        String hash;
+        try {
+            payload = payload(schema, false);
+            hash = sha1(payload);
+        } catch (IOException e) {
+            result.errors.put(schema.key, e.getMessage());
+            return;
+        }
+        if (hash.equals(previousHash)) {
+            result.skipped.incrementAndGet();
+            result.hashes.put(schema.key, hash);
+            return;
+        }
+        String error = null;
+        for (int attempt = 1; attempt <= maxAttempts && !cancelled.getAsBoolean(); attempt++) {
+            long retryAfter = -1;
+            try {
+                Response response = send(payload(schema, true));
+                if (response.status == 200) {
+                    error = response.yapiError();
+                    if (error == null) {
+                        result.pushed.incrementAndGet();
+                        result.hashes.put(schema.key, hash);
+                    }
+                    // yapi 拒绝(token 错误、参数不对)时重试也没有用
+                    break;
+                }
+                error = "HTTP " + response.status;
+                if (response.status != 429 && response.status < 500) {
+                    break;
+                }
+                retryAfter = response.retryAfterMillis;
+            } catch (IOException e) {
+                error = e.toString();
+            }
+            if (attempt < maxAttempts) {
+                result.retries.incrementAndGet();
+                long delay = Math.min(retryAfter >= 0 ? retryAfter : backoff(attempt), MAX_RETRY_DELAY_MILLIS);
+                if (stop.await(delay, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+            }
+        }
+        if (error != null) {
+            result.errors.put(schema.key, error);
+        }
+    }
+
+    /**
+     * backoffMillis * 2^(attempt-1), 加上最多一半的随机抖动, 避免并发的请求同时重试
+     */
+    private long backoff(int attempt) {
+        long delay = backoffMillis << Math.min(attempt - 1, 16);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * 请求体. 摘要不包含 token, 换 token 不会导致重新推送
+     */
+    private byte[] payload(Schema schema, boolean withToken) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(schema.json.length() + 256);
+        Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+        JsonWriter out = JsonOptions.COMPACT.newWriter(writer);
+        out.beginObject();
+        if (withToken) {
+            out.name("token").value(token);
+        }
+        if (catId.matches("\\d{1,18}")) {
+            out.name("catid").value(Long.parseLong(catId));
+        } else {
+            out.name("catid").value(catId);
+        }
+        out.name("title").value(schema.title);
+        out.name("path").value(pathPrefix + schema.key);
+        out.name("method").value("POST");
+        out.name("desc").value(schema.key);
+        out.name("status").value("done");
+        if (body == Body.REQUEST) {
+            out.name("req_body_type").value("json");
+            out.name("req_body_is_json_schema").value(true);
+            out.name("req_body_other").value(schema.json);
+        } else {
+            out.name("res_body_type").value("json");
+            out.name("res_body_is_json_schema").value(true);
+            out.name("res_body").value(schema.json);
+        }
+        out.endObject();
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    private Response send(byte[] payload) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + SAVE_PATH).openConnection();
+        try {
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+            connection.setRequestProperty("Content-Encoding", "gzip");
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            try (OutputStream out = new GZIPOutputStream(connection.getOutputStream())) {
+                out.write(payload);
+            }
+            int status = connection.getResponseCode();
+            InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            // 读完响应体再关闭, 连接才会放回 keep-alive 缓存
+            String text = in == null ? "" : read("gzip".equalsIgnoreCase(connection.getContentEncoding()) ? new GZIPInputStream(in) : in);
+            return new Response(status, text, retryAfterMillis(connection.getHeaderField("Retry-After")));
+        } catch (IOException e) {
+            // 出错的连接不再复用
+            connection.disconnect();
+            throw e;
+        }
+    }
+
+    private static String read(InputStream in) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            char[] buffer = new char[4096];
+            int length;
+            while ((length = reader.read(buffer)) >= 0) {
+                text.append(buffer, 0, length);
+            }
+        }
+        return text.toString();
+    }
+
+    private static long retryAfterMillis(String header) {
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(header.trim())) * 1000;
+        } catch (NumberFormatException e) {
+            // HTTP 日期格式的不处理, 按退避时间
+            return -1;
+        }
+    }
+
+    private static String sha1(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final String text;
+        final long retryAfterMillis;
+
+        Response(int status, String text, long retryAfterMillis) {
+            this.status = status;
+            this.text = text;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        /**
+         * yapi 总是返回 200, 结果在 errcode 中. 0 为成功, 否则返回 errmsg
+         */
+        String yapiError() {
+            try {
+                JsonElement element = new JsonParser().parse(text);
+                if (!element.isJsonObject()) {
+                    return "Unexpected response: " + abbreviate(text);
+                }
+                JsonObject object = element.getAsJsonObject();
+                if (object.has("errcode") && object.get("errcode").getAsInt() == 0) {
+                    return null;
+                }
+                return object.has("errmsg") ? object.get("errmsg").getAsString() : "Unexpected response: " + abbreviate(text);
+            } catch (JsonParseException | IllegalStateException | UnsupportedOperationException | NumberFormatException e) {
+                return "Unexpected response: " + abbreviate(text);
+            }
+        }
+
+        private static String abbreviate(String text) {
+            return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+        }
+    }
+
+    public static final class Builder {
+        private final String baseUrl;
+        private final String token;
+        private String catId = "";
+        private String pathPrefix = "/schema/";
+        private Body body = Body.RESPONSE;
+        private int concurrency = 4;
+        private int maxAttempts = 4;
+        private long backoffMillis = 500;
+        private int timeoutMillis = 30_000;
+
+        /**
+         * @param baseUrl yapi 地址, 如 http://yapi.example.com.
+         * @param token 项目的 token.
+         */
+        public Builder(String baseUrl, String token) {
+            this.baseUrl = Objects.requireNonNull(baseUrl, "baseUrl");
+            this.token = Objects.requireNonNull(token, "token");
+        }
+
+        public Builder catId(String catId) {
+            this.catId = catId;
+            return this;
+        }
+
+        /**
+         * 接口路径为 pathPrefix + 类的 key
+         */
+        public Builder pathPrefix(String pathPrefix) {
+            this.pathPrefix = pathPrefix;
+            return this;
+        }
+
+        public Builder body(Body body) {
+            this.body = body;
+            return this;
+        }
+
+        /**
+         * 同时发送的请求数, 不超过 JDK keep-alive 缓存的连接数(http.maxConnections, 默认 5)时连接都能复用
+         */
+        public Builder concurrency(int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * 包括第一次在内的最多发送次数
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder backoffMillis(long backoffMillis) {
+            this.backoffMillis = backoffMillis;
+            return this;
+        }
+
+        public Builder timeoutMillis(int timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException 地址不是 http(s) 或参数不合法
+         */
+        public YapiClient build() {
+            if (!baseUrl.startsWith("http://") && !baseUrl.startsWith("https://")) {
+                throw new IllegalArgumentException("YApi URL must start with http:// or https://: " + baseUrl);
+            }
+            if (concurrency < 1 || maxAttempts < 1 || backoffMillis < 0 || timeoutMillis < 0) {
+                throw new IllegalArgumentException("Invalid YApi push settings");
+            }
+            return new YapiClient(this);
+        }
+    }
+}
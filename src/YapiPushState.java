@@ -0,0 +1,62 @@
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @description: 上次推送到 yapi 的每个类的摘要, 保存在 workspace 中不提交. 推送范围(地址、分类等)变化后清空
+ * @date: 2026/10/18
+ */
+@State(name = "PojoToJsonYapiPush", storages = @Storage(StoragePathMacros.WORKSPACE_FILE))
+public class YapiPushState implements PersistentStateComponent<YapiPushState.PushState> {
+
+    private PushState state = new PushState();
+
+    public static YapiPushState getInstance(Project project) {
+        return ServiceManager.getService(project, YapiPushState.class);
+    }
+
+    @Override
+    public synchronized PushState getState() {
+        return state;
+    }
+
+    @Override
+    public synchronized void loadState(PushState state) {
+        this.state = state;
+    }
+
+    /**
+     * 复制一份, 推送线程中读取
+     */
+    public synchronized Map<String, String> getHashes(String scope) {
+        return scope.equals(state.scope) ? new HashMap<>(state.hashes) : new HashMap<>();
+    }
+
+    /**
+     * 合并这次推送成功和跳过的类, 失败的类保留上次的摘要, 下次仍会重新推送
+     */
+    public synchronized void update(String scope, Map<String, String> hashes) {
+        PushState next = new PushState();
+        next.scope = scope;
+        if (scope.equals(state.scope)) {
+            next.hashes.putAll(state.hashes);
+        }
+        next.hashes.putAll(hashes);
+        state = next;
+    }
+
+    /**
+     * 由 XmlSerializer 读写, 字段需要是 public
+     */
+    public static class PushState {
+        public String scope = "";
+        public Map<String, String> hashes = new TreeMap<>();
+    }
+}
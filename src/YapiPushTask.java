@@ -0,0 +1,136 @@
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationGroup;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @description: 批量推送 yapi schema. 读操作中逐个类建模并生成 schema, 之后由 YapiClient 在读操作之外并发推送,
+ * 摘要保存在 YapiPushState 中, 没有变化的类不再发送
+ * @date: 2026/10/18
+ */
+public class YapiPushTask extends Task.Backgroundable {
+
+    private final BulkBuildJsonTask.ClassSource source;
+
+    private final NotificationGroup notificationGroup;
+
+    private final GenerationProfile profile;
+
+    private final Set<String> warnings = new LinkedHashSet<>();
+
+    private YapiClient.Result result;
+
+    /**
+     * 设置不完整时的提示, 不为 null 时没有推送
+     */
+    private String settingsError;
+
+    public YapiPushTask(Project project, BulkBuildJsonTask.ClassSource source, NotificationGroup notificationGroup) {
+        super(project, "Pushing schemas to YApi", true);
+        this.source = source;
+        this.notificationGroup = notificationGroup;
+        this.profile = PojoToJsonSettings.getInstance().getProfile();
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        YapiClient client;
+        try {
+            // token 在密码库中, 读取可能较慢或需要用户确认, 不在 EDT 上读
+            client = PojoToJsonSettings.getInstance().newYapiClient();
+        } catch (IllegalArgumentException e) {
+            settingsError = e.getMessage();
+            return;
+        }
+        indicator.setIndeterminate(true);
+        indicator.setText("Collecting classes");
+        List<PsiClass> classes = ReadAction.compute(source::collect);
+        indicator.setIndeterminate(false);
+
+        indicator.setText("Generating schemas");
+        JsonEmitter emitter = JsonFormat.YAPI.newEmitter(profile);
+        List<YapiClient.Schema> schemas = new ArrayList<>(classes.size());
+        for (int i = 0; i < classes.size(); i++) {
+            indicator.checkCanceled();
+            PsiClass psiClass = classes.get(i);
+            List<String> classWarnings = new ArrayList<>();
+            schemas.add(ReadAction.compute(() -> {
+                String key = TypeModelBuilder.keyOf(psiClass);
+                indicator.setText2(key);
+                TypeModel model = new TypeModelBuilder(profile).build(psiClass);
+                return new YapiClient.Schema(key, psiClass.getName(), emitter.toJson(model, JsonOptions.COMPACT, classWarnings));
+            }));
+            warnings.addAll(classWarnings);
+            indicator.setFraction((double) (i + 1) / classes.size() / 2);
+        }
+
+        indicator.setText("Pushing to YApi");
+        YapiPushState state = YapiPushState.getInstance(myProject);
+        Map<String, String> previous = state.getHashes(client.getScope());
+        try {
+            result = client.push(schemas, previous, (finished, total, key) -> {
+                indicator.setFraction(0.5 + (double) finished / total / 2);
+                indicator.setText2(key);
+            }, indicator::isCanceled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException();
+        } finally {
+            if (result != null) {
+                // 取消时也记下已经推送的类
+                state.update(client.getScope(), result.getHashes());
+            }
+        }
+    }
+
+    @Override
+    public void onSuccess() {
+        if (settingsError != null) {
+            notify(settingsError + ", see Settings | Tools | PojoToJson.", NotificationType.ERROR);
+            return;
+        }
+        String message = "Push to YApi: " + result.getPushed() + " pushed, " + result.getSkipped() + " unchanged";
+        if (result.getRetries() > 0) {
+            message += ", " + result.getRetries() + " retries";
+        }
+        if (result.getErrors().isEmpty()) {
+            notify(message + ".", NotificationType.INFORMATION);
+        } else {
+            notify(message + ", " + result.getErrors().size() + " failed.", NotificationType.ERROR);
+            int shown = 0;
+            for (Map.Entry<String, String> error : result.getErrors().entrySet()) {
+                if (shown++ == 5) {
+                    notify("... and " + (result.getErrors().size() - 5) + " more.", NotificationType.ERROR);
+                    break;
+                }
+                notify("Push " + error.getKey() + " failed: " + error.getValue(), NotificationType.ERROR);
+            }
+        }
+        for (String warning : warnings) {
+            notify(warning, NotificationType.WARNING);
+        }
+    }
+
+    @Override
+    public void onThrowable(@NotNull Throwable error) {
+        notify("Push to YApi failed: " + error.getMessage(), NotificationType.ERROR);
+    }
+
+    private void notify(String message, NotificationType type) {
+        Notification notification = notificationGroup.createNotification(message, type);
+        Notifications.Bus.notify(notification, myProject);
+    }
+}
@@ -0,0 +1,273 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @description: yapi 使用的 json schema. 设置 sharedDefinitions 时每个类只在 definitions 中写一次, 其余位置用 $ref 引用,
+ * 输出大小与类的个数成正比, 而不是与引用路径的条数成正比
+ * @date: 2026/10/18
+ */
+public class YapiSchemaEmitter implements JsonEmitter {
+
+    private final GenerationProfile profile;
+
+    public YapiSchemaEmitter() {
+        this(GenerationProfile.DEFAULT);
+    }
+
+    public YapiSchemaEmitter(GenerationProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public void write(TypeModel model, JsonWriter out, List<String> warnings) throws IOException {
+        ClassModel root = model.getRoot();
+        String title = root == null ? null : root.getName();
+        Walker walker = new Walker(model, out, profile, profile.isSharedDefinitions());
+        out.beginObject();
+        out.name("type").value("object");
+        out.name("title").value(title);
+        out.name("description").value(title);
+        walker.required(root);
+        out.name("properties");
+        if (!profile.isSharedDefinitions()) {
+            walk(walker, model, warnings, "}");
+            return;
+        }
+        walk(walker, model, warnings, "");
+        out.name("definitions").beginObject();
+        // 写 definitions 时还会发现新的引用, 列表在循环中变长
+        List<ClassModel> definitions = walker.definitions;
+        for (int i = 0; i < definitions.size(); i++) {
+            ClassModel node = definitions.get(i);
+            out.name(node.getKey()).beginObject();
+            out.name("type").value("object");
+            out.name("title").value(node.getName());
+            walker.required(node);
+            out.name("properties");
+            walker.walk(node, "}");
+        }
+        out.endObject();
+        out.endObject();
+        if (walker.isTruncated() && !warnings.contains(TRUNCATED)) {
+            warnings.add(TRUNCATED);
+        }
+    }
+
+    /**
+     * 根类的 properties 部分. 没有放 definitions 的地方, 总是展开嵌套的类.
+     */
+    public KV properties(TypeModel model, List<String> warnings) {
+        KVWriter writer = new KVWriter();
+        try {
+            walk(new Walker(model, writer, profile, false), model, warnings, "");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return (KV) writer.get();
+    }
+
+    private static void walk(Walker walker, TypeModel model, List<String> warnings, String closers) throws IOException {
+        walker.walk(model.getRoot(), closers);
+        if (walker.isTruncated() || model.isTruncated()) {
+            warnings.add(TRUNCATED);
+        }
+    }
+
+    private static class Walker extends FieldWalker {
+
+        private static final String REF = "$ref";
+
+        private static final String DEFINITIONS = "#/definitions/";
+
+        private final boolean shared;
+
+        /**
+         * shared 时引用到的类, 按第一次引用的顺序
+         */
+        final List<ClassModel> definitions = new ArrayList<>();
+
+        private final Set<String> defined = new HashSet<>();
+
+        Walker(TypeModel model, JsonWriter out, GenerationProfile profile, boolean shared) {
+            super(model, out, profile);
+            this.shared = shared;
+        }
+
+        @Override
+        protected void writeField(FieldModel field) throws IOException {
+            TypeRef type = field.getType();
+            String remark = field.getRemark();
+            switch (type.getKind()) {
+                case PRIMITIVE:
+                case NORMAL:
+                    out.name(nameOf(field));
+                    scalar(type.getName(), remark);
+                    break;
+                case ENUM:
+                    out.name(nameOf(field));
+                    enumeration(type, remark);
+                    break;
+                case ARRAY:
+                case COLLECTION:
+                    out.name(nameOf(field));
+                    array(type, remark, "");
+                    break;
+                case MAP:
+                    out.name(nameOf(field));
+                    map(type, remark, "");
+                    break;
+                default:
+                    //class type
+                    out.name(nameOf(field));
+                    object(type, remark, "");
+            }
+        }
+
+        private void array(TypeRef type, String remark, String closers) throws IOException {
+            out.beginObject();
+            out.name("type").value("array");
+            description(remark);
+            out.name("items");
+            TypeRef element = type.getElement();
+            if (element.getKind() == TypeRef.Kind.PRIMITIVE && type.getKind() == TypeRef.Kind.ARRAY) {
+                scalar(type.getName(), remark);
+                close("}" + closers);
+            } else {
+                schema(element, remark, "}" + closers);
+            }
+        }
+
+        /**
+         * additionalProperties 是最后一个属性, 值为对象时由 descend 展开
+         */
+        private void map(TypeRef type, String remark, String closers) throws IOException {
+            out.beginObject();
+            out.name("type").value("object");
+            description(remark);
+            out.name("additionalProperties");
+            schema(type.getElement(), "", "}" + closers);
+        }
+
+        private void schema(TypeRef type, String remark, String closers) throws IOException {
+            switch (type.getKind()) {
+                case PRIMITIVE:
+                case NORMAL:
+                    scalar(type.getName(), remark);
+                    close(closers);
+                    break;
+                case ENUM:
+                    enumeration(type, remark);
+                    close(closers);
+                    break;
+                case ARRAY:
+                case COLLECTION:
+                    array(type, remark, closers);
+                    break;
+                case MAP:
+                    map(type, remark, closers);
+                    break;
+                default:
+                    object(type, remark, closers);
+            }
+        }
+
+        private void object(TypeRef type, String remark, String closers) throws IOException {
+            ClassModel node = model.get(type.getClassKey());
+            if (shared && node != null) {
+                // 根类就是整个 schema, 引用根类用 "#"
+                boolean root = node == model.getRoot();
+                if (!root && defined.add(node.getKey())) {
+                    definitions.add(node);
+                }
+                out.beginObject();
+                out.name(REF).value(root ? "#" : DEFINITIONS + pointer(node.getKey()));
+                description(remark);
+                out.endObject();
+                close(closers);
+                return;
+            }
+            if (node != null && isBackReference(node)) {
+                // 循环引用: 根类用 "#" 引用, 其余类没有 definitions 可以引用, 只写 object 并在 description 中注明类名
+                out.beginObject();
+                if (node == model.getRoot()) {
+                    out.name(REF).value("#");
+                    description(remark);
+                } else {
+                    out.name("type").value("object");
+                    description(remark.isEmpty() ? node.getKey() : remark + " (" + node.getKey() + ")");
+                }
+                out.endObject();
+                close(closers);
+                return;
+            }
+            out.beginObject();
+            out.name("type").value("object");
+            description(remark);
+            required(node);
+            out.name("properties");
+            descend(node, "}" + closers);
+        }
+
+        /**
+         * 必填字段名, 写在 properties 之前, 没有时不写
+         */
+        void required(ClassModel node) throws IOException {
+            if (node == null) {
+                return;
+            }
+            boolean started = false;
+            for (FieldModel field : node.getFields()) {
+                if (field.isRequired() && profile.includes(field)) {
+                    if (!started) {
+                        out.name("required").beginArray();
+                        started = true;
+                    }
+                    out.value(nameOf(field));
+                }
+            }
+            if (started) {
+                out.endArray();
+            }
+        }
+
+        private void scalar(String typeName, String remark) throws IOException {
+            out.beginObject();
+            out.name("type").value(typeName);
+            description(remark);
+            out.endObject();
+        }
+
+        /**
+         * 枚举按字符串输出, 常量名放在 enum 中
+         */
+        private void enumeration(TypeRef type, String remark) throws IOException {
+            out.beginObject();
+            out.name("type").value("string");
+            description(remark);
+            out.name("enum").beginArray();
+            for (String constant : type.getConstants()) {
+                out.value(constant);
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        private void description(String remark) throws IOException {
+            if (!remark.isEmpty()) {
+                out.name("description").value(remark);
+            }
+        }
+
+        /**
+         * JSON Pointer 中的 ~ 和 / 需要转义
+         */
+        private static String pointer(String key) {
+            return key.replace("~", "~0").replace("/", "~1");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @description: 命令行与 IDE 对泛型包装类的结果一致: 类型参数按字段所在的实例替换, key 与 TypeModelBuilder.keyOf(PsiClass, PsiSubstitutor) 相同
+ * @date: 2026/10/18
+ */
+public class ReflectionModelBuilderTest {
+
+    public static class Address {
+        public String city;
+    }
+
+    public static class ApiResult<T> {
+        public int code;
+        public T data;
+    }
+
+    public static class Page<E> {
+        public List<E> items;
+        public Map<String, E[]> byKey;
+    }
+
+    public static class AddressPage extends Page<Address> {
+    }
+
+    public static class Holder {
+        public ApiResult<Page<Address>> result;
+        public ApiResult<? extends Address> loose;
+    }
+
+    private static final String API_RESULT = "ReflectionModelBuilderTest.ApiResult";
+
+    private static final String PAGE = "ReflectionModelBuilderTest.Page";
+
+    private static final String ADDRESS = "ReflectionModelBuilderTest.Address";
+
+    @Test
+    public void bindsNestedTypeArguments() {
+        TypeModel model = new ReflectionModelBuilder().build(Holder.class);
+
+        // IDE 中同一个字段的 key, PsiType.getCanonicalText() 的类型参数之间没有空格
+        String resultKey = API_RESULT + "<" + PAGE + "<" + ADDRESS + ">>";
+        assertEquals(TypeRef.object("ApiResult<Page<Address>>", resultKey), field(model.getRoot(), "result"));
+        assertEquals(TypeRef.object("Page<Address>", PAGE + "<" + ADDRESS + ">"), field(model.get(resultKey), "data"));
+
+        ClassModel page = model.get(PAGE + "<" + ADDRESS + ">");
+        assertNotNull(model.getClasses().keySet().toString(), page);
+        assertEquals(TypeRef.collection("List<Address>", TypeRef.object("Address", ADDRESS)), field(page, "items"));
+        assertEquals(TypeRef.map("Map<String, Address[]>", TypeRef.normal("String"),
+                TypeRef.array("Address[]", TypeRef.object("Address", ADDRESS))), field(page, "byKey"));
+        assertNotNull(model.get(ADDRESS));
+    }
+
+    @Test
+    public void bindsWildcardArguments() {
+        TypeModel model = new ReflectionModelBuilder().build(Holder.class);
+
+        String looseKey = API_RESULT + "<? extends " + ADDRESS + ">";
+        assertEquals(TypeRef.object("ApiResult<? extends Address>", looseKey), field(model.getRoot(), "loose"));
+        assertEquals(TypeRef.object("Address", ADDRESS), field(model.get(looseKey), "data"));
+    }
+
+    @Test
+    public void bindsArgumentsOfSuperclass() {
+        TypeModel model = new ReflectionModelBuilder().build(AddressPage.class);
+
+        assertEquals(TypeRef.collection("List<Address>", TypeRef.object("Address", ADDRESS)), field(model.getRoot(), "items"));
+    }
+
+    @Test
+    public void keepsUnboundParameters() {
+        TypeModel model = new ReflectionModelBuilder().build(ApiResult.class);
+
+        assertEquals(API_RESULT, model.getRoot().getKey());
+        assertEquals(TypeRef.unknown("T"), field(model.getRoot(), "data"));
+    }
+
+    @Test
+    public void usesNormalTypesOfProfile() {
+        Map<String, String> values = new LinkedHashMap<>(GenerationProfile.DEFAULT_VALUES);
+        values.put("Address", "\"Shanghai\"");
+        GenerationProfile profile = new GenerationProfile.Builder().defaultValues(values).build();
+        TypeModel model = new ReflectionModelBuilder(profile).build(AddressPage.class);
+
+        assertEquals(TypeRef.collection("List<Address>", TypeRef.normal("Address")), field(model.getRoot(), "items"));
+        assertNull(model.get(ADDRESS));
+    }
+
+    private static TypeRef field(ClassModel node, String name) {
+        assertNotNull(name, node);
+        for (FieldModel field : node.getFields()) {
+            if (field.getName().equals(name)) {
+                return field.getType();
+            }
+        }
+        throw new AssertionError("no field " + name + " in " + node.getKey());
+    }
+}
@@ -0,0 +1,116 @@
+import com.google.gson.JsonObject;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @description: 通过 YapiMockServer 验证 YapiClient: 请求体 gzip 压缩, 503 时重试, 内容没有变化的类不再发送
+ * @date: 2026/10/18
+ */
+public class YapiClientTest {
+
+    private static final String TOKEN = "project-token";
+
+    private YapiMockServer server;
+
+    @After
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void pushesGzipBodies() throws Exception {
+        server = new YapiMockServer(0, TOKEN, 0);
+        YapiClient.Result result = push(client(TOKEN, 4), schemas(5), Collections.emptyMap());
+
+        assertTrue(result.getErrors().toString(), result.getErrors().isEmpty());
+        assertEquals(5, result.getPushed());
+        assertEquals(5, server.getRequests());
+        assertEquals(5, server.getGzipRequests());
+        JsonObject saved = server.getInterfaces().get("POST /schema/com.foo.Class0");
+        assertNotNull(server.getInterfaces().keySet().toString(), saved);
+        assertEquals(TOKEN, saved.get("token").getAsString());
+        assertTrue(saved.get("res_body_is_json_schema").getAsBoolean());
+        assertEquals(json(0), saved.get("res_body").getAsString());
+    }
+
+    @Test
+    public void retriesInjectedFailures() throws Exception {
+        server = new YapiMockServer(0, TOKEN, 3);
+        // 单线程时每第 3 个请求失败, 重试的请求不会连续失败
+        YapiClient.Result result = push(client(TOKEN, 1), schemas(10), Collections.emptyMap());
+
+        assertTrue(result.getErrors().toString(), result.getErrors().isEmpty());
+        assertEquals(10, result.getPushed());
+        assertEquals(10, server.getInterfaces().size());
+        assertTrue(server.getFailures() >= 3);
+        assertEquals(server.getFailures(), result.getRetries());
+        assertEquals(10 + server.getFailures(), server.getRequests());
+    }
+
+    @Test
+    public void skipsUnchangedSchemas() throws Exception {
+        server = new YapiMockServer(0, TOKEN, 0);
+        YapiClient client = client(TOKEN, 4);
+        YapiClient.Result first = push(client, schemas(4), Collections.emptyMap());
+        assertEquals(4, first.getPushed());
+        assertEquals(4, first.getHashes().size());
+
+        YapiClient.Result second = push(client, schemas(4), first.getHashes());
+        assertEquals(0, second.getPushed());
+        assertEquals(4, second.getSkipped());
+        assertEquals(4, server.getRequests());
+
+        List<YapiClient.Schema> changed = schemas(4);
+        changed.set(1, new YapiClient.Schema("com.foo.Class1", "Class1", "{\"type\":\"string\"}"));
+        YapiClient.Result third = push(client, changed, second.getHashes());
+        assertEquals(1, third.getPushed());
+        assertEquals(3, third.getSkipped());
+        assertEquals(5, server.getRequests());
+    }
+
+    @Test
+    public void doesNotRetryRejectedToken() throws Exception {
+        server = new YapiMockServer(0, TOKEN, 0);
+        YapiClient.Result result = push(client("wrong-token", 4), schemas(2), Collections.emptyMap());
+
+        assertEquals(2, result.getErrors().size());
+        assertEquals(0, result.getRetries());
+        assertEquals(2, server.getRequests());
+        assertTrue(result.getHashes().isEmpty());
+        assertTrue(server.getInterfaces().isEmpty());
+    }
+
+    private YapiClient client(String token, int concurrency) {
+        return new YapiClient.Builder("http://127.0.0.1:" + server.getPort(), token)
+                .concurrency(concurrency)
+                .backoffMillis(0)
+                .build();
+    }
+
+    private static YapiClient.Result push(YapiClient client, List<YapiClient.Schema> schemas, Map<String, String> previous)
+            throws InterruptedException {
+        return client.push(schemas, previous, (finished, total, key) -> {
+        }, () -> false);
+    }
+
+    private static List<YapiClient.Schema> schemas(int count) {
+        List<YapiClient.Schema> schemas = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            schemas.add(new YapiClient.Schema("com.foo.Class" + i, "Class" + i, json(i)));
+        }
+        return schemas;
+    }
+
+    private static String json(int index) {
+        return "{\"type\":\"object\",\"title\":\"Class" + index + "\",\"properties\":{\"id\":{\"type\":\"integer\"}}}";
+    }
+}
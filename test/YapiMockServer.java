@@ -0,0 +1,191 @@
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @description: 本地替代 yapi 的 /api/interface/save, 供 YapiClientTest 使用, 也可以单独启动后用 PojoToJsonCli --yapi 推送.
+ * 按 path + method 保存接口, 可以让每第 n 个请求返回 503 来验证重试.
+ * 例: java -cp out/production/PojoToJson:out/test/PojoToJson:gson.jar YapiMockServer --port 3000 --token t --fail-every 3
+ * @date: 2026/10/18
+ */
+public class YapiMockServer implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    private final String token;
+
+    private final int failEvery;
+
+    /**
+     * method + " " + path -> 最后一次保存的请求
+     */
+    private final Map<String, JsonObject> interfaces = new ConcurrentHashMap<>();
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final AtomicInteger gzipRequests = new AtomicInteger();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * @param port 0 时随机选择空闲端口, 见 {@link #getPort()}.
+     * @param token 不为 null 时校验请求中的 token.
+     * @param failEvery 大于 0 时每第 failEvery 个请求返回 503.
+     */
+    public YapiMockServer(int port, String token, int failEvery) throws IOException {
+        this.token = token;
+        this.failEvery = failEvery;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(YapiClient.SAVE_PATH, this::save);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 3000;
+        String token = null;
+        int failEvery = 0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--token":
+                    token = args[i + 1];
+                    break;
+                case "--fail-every":
+                    failEvery = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Usage: YapiMockServer [--port <port>] [--token <token>] [--fail-every <n>]");
+                    System.exit(2);
+            }
+        }
+        YapiMockServer server = new YapiMockServer(port, token, failEvery);
+        System.out.println("Mock YApi listening on http://127.0.0.1:" + server.getPort());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println(server.summary());
+            server.close();
+        }));
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public Map<String, JsonObject> getInterfaces() {
+        return interfaces;
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    public int getGzipRequests() {
+        return gzipRequests.get();
+    }
+
+    public int getFailures() {
+        return failures.get();
+    }
+
+    public String summary() {
+        return requests.get() + " requests (" + gzipRequests.get() + " gzip), " + failures.get() + " injected failures, "
+                + interfaces.size() + " interfaces saved";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void save(HttpExchange exchange) throws IOException {
+        try {
+            int count = requests.incrementAndGet();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "");
+                return;
+            }
+            InputStream in = exchange.getRequestBody();
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                gzipRequests.incrementAndGet();
+                in = new GZIPInputStream(in);
+            }
+            String text = new String(readAll(in), StandardCharsets.UTF_8);
+            if (failEvery > 0 && count % failEvery == 0) {
+                failures.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "0");
+                respond(exchange, 503, "Service Unavailable");
+                return;
+            }
+            JsonObject request;
+            try {
+                JsonElement element = new JsonParser().parse(text);
+                request = element.isJsonObject() ? element.getAsJsonObject() : null;
+            } catch (JsonParseException e) {
+                request = null;
+            }
+            if (request == null || !request.has("path") || !request.has("method")) {
+                respond(exchange, 200, error(400, "请求参数不合法"));
+                return;
+            }
+            if (token != null && (!request.has("token") || !token.equals(request.get("token").getAsString()))) {
+                respond(exchange, 200, error(40011, "请登录..."));
+                return;
+            }
+            interfaces.put(request.get("method").getAsString() + " " + request.get("path").getAsString(), request);
+            respond(exchange, 200, "{\"errcode\":0,\"errmsg\":\"成功！\",\"data\":{\"ok\":1}}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String error(int code, String message) {
+        JsonObject object = new JsonObject();
+        object.addProperty("errcode", code);
+        object.addProperty("errmsg", message);
+        object.add("data", null);
+        return object.toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int length;
+        while ((length = in.read(chunk)) >= 0) {
+            buffer.write(chunk, 0, length);
+        }
+        return buffer.toByteArray();
+    }
+}
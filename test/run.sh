@@ -0,0 +1,17 @@
+#!/bin/sh
+# 不需要 IDE, 直接用 javac 编译测试及其用到的与 PSI 无关的类, 再用 JUnit 4 运行.
+# TEST_CLASSPATH 需要包含 junit 4.12, hamcrest-core, gson, jetbrains annotations.
+# 例: TEST_CLASSPATH=$(ls ~/jars/*.jar | tr '\n' ':') test/run.sh
+# 只运行部分测试时写出类名: test/run.sh ReflectionModelBuilderTest
+set -e
+cd "$(dirname "$0")/.."
+: "${TEST_CLASSPATH:?set TEST_CLASSPATH to the JUnit, hamcrest, gson and annotations jars}"
+OUT=out/test
+rm -rf "$OUT"
+mkdir -p "$OUT"
+# src 中被测试用到的类由 -sourcepath 按需编译, 不会编译依赖 IDE 的类
+javac -encoding UTF-8 -source 8 -target 8 -nowarn -d "$OUT" -cp "$TEST_CLASSPATH" -sourcepath src test/*.java
+if [ $# -eq 0 ]; then
+    set -- $(cd test && ls *Test.java | sed 's/\.java$//')
+fi
+java -cp "$OUT:$TEST_CLASSPATH" org.junit.runner.JUnitCore "$@"